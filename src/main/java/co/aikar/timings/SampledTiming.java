@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+/**
+ * A timing for code that runs too often to be timed on every call. Only
+ * every {@code 2^n}th call is timed, together with its parent group, so the
+ * reported time is a sample of the real cost rather than its total.
+ */
+public final class SampledTiming {
+
+    private final Timing group;
+    private final Timing timing;
+    private final int mask;
+    // Races on the counter only shift which call gets sampled
+    private int calls;
+
+    SampledTiming(Timing group, Timing timing, int sampleShift) {
+        this.group = group;
+        this.timing = timing;
+        this.mask = (1 << sampleShift) - 1;
+    }
+
+    /**
+     * Starts the timing if this call is sampled.
+     *
+     * @return Whether the timing was started and has to be stopped
+     */
+    public boolean startTimingIfSampled() {
+        if ((++this.calls & this.mask) != 0) {
+            return false;
+        }
+        this.group.startTimingIfSync();
+        this.timing.startTimingIfSync();
+        return true;
+    }
+
+    public void stopTimingIfSync() {
+        this.timing.stopTimingIfSync();
+        this.group.stopTimingIfSync();
+    }
+
+}
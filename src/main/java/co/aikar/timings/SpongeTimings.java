@@ -61,9 +61,13 @@ public final class SpongeTimings {
     public static final Timing dataRemoveManipulator = SpongeTimingsFactory.ofSafe("## removeManipulator");
     public static final Timing dataSupportsManipulator = SpongeTimingsFactory.ofSafe("## supportsManipulator");
     public static final Timing dataOfferKey = SpongeTimingsFactory.ofSafe("## offerKey");
-    public static final Timing dataGetByKey = SpongeTimingsFactory.ofSafe("## getKey");
-    public static final Timing dataGetValue = SpongeTimingsFactory.ofSafe("## getValue");
-    public static final Timing dataSupportsKey = SpongeTimingsFactory.ofSafe("## supportsKey");
+    // Key access is done by plugins for every player on every tick, only a sample of it is timed
+    public static final SampledTiming dataGetByKey = new SampledTiming(TimingsManager.DATA_GROUP_HANDLER,
+            SpongeTimingsFactory.ofSafe("## getKey (sampled)"), 6);
+    public static final SampledTiming dataGetValue = new SampledTiming(TimingsManager.DATA_GROUP_HANDLER,
+            SpongeTimingsFactory.ofSafe("## getValue (sampled)"), 6);
+    public static final SampledTiming dataSupportsKey = new SampledTiming(TimingsManager.DATA_GROUP_HANDLER,
+            SpongeTimingsFactory.ofSafe("## supportsKey (sampled)"), 6);
     public static final Timing dataRemoveKey = SpongeTimingsFactory.ofSafe("## removeKey");
 
     public static final Timing TRACKING_PHASE_UNWINDING = SpongeTimingsFactory.ofSafe("## unwindPhase");
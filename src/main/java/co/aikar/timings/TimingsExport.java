@@ -178,6 +178,10 @@ static void reportTimings(CommandSource sender) {
             ).build();
         }));
 
+        // Statistics of background work
+
+        builder.add("statistics", TimingsStatistics.export());
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import co.aikar.util.JSONUtil;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Statistics that are included in timings reports but which can not be
+ * measured as time spent on the main thread, such as the depth of a queue
+ * or the latency of work done on a background thread.
+ *
+ * <p>Suppliers are queried from the thread creating the report, so the
+ * values they read must be safe to access from any thread.</p>
+ */
+public final class TimingsStatistics {
+
+    private static final Map<String, Supplier<JsonObject>> STATISTICS = Maps.newConcurrentMap();
+
+    private TimingsStatistics() {
+    }
+
+    /**
+     * Registers a named group of statistics, replacing any group previously
+     * registered with the same name.
+     *
+     * @param name The name of the group
+     * @param supplier The supplier of the current statistics
+     */
+    public static void register(String name, Supplier<JsonObject> supplier) {
+        STATISTICS.put(name, supplier);
+    }
+
+    public static void unregister(String name) {
+        STATISTICS.remove(name);
+    }
+
+    static JsonObject export() {
+        return JSONUtil.mapArrayToObject(STATISTICS.entrySet(), (entry) -> JSONUtil.singleObjectPair(entry.getKey(), entry.getValue().get()));
+    }
+}
@@ -65,6 +65,7 @@ public class WorldTimingsHandler {
     public final Timing syncChunkLoadTileEntitiesTimer;
     public final Timing syncChunkLoadTileTicksTimer;
     public final Timing syncChunkLoadPostTimer;
+    public final Timing asyncChunkLoadFinishTimer;
 
     // Tracking
     public final Timing causeTrackerBlockTimer;
@@ -107,6 +108,7 @@ public WorldTimingsHandler(World world) {
         this.syncChunkLoadTileEntitiesTimer = SpongeTimingsFactory.ofSafe(name + "chunkLoad - TileEntities");
         this.syncChunkLoadTileTicksTimer = SpongeTimingsFactory.ofSafe(name + "chunkLoad - TileTicks");
         this.syncChunkLoadPostTimer = SpongeTimingsFactory.ofSafe(name + "chunkLoad - Post");
+        this.asyncChunkLoadFinishTimer = SpongeTimingsFactory.ofSafe(name + "asyncChunkLoad - Finish");
 
         this.tracker1 = SpongeTimingsFactory.ofSafe(name + "tracker stage 1");
         this.tracker2 = SpongeTimingsFactory.ofSafe(name + "tracker stage 2");
@@ -120,17 +120,7 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
         this.pos = checkNotNull(builder.coords);
         this.blockPos = VecHelper.toBlockPos(this.pos);
 
-        // This avoids cross contamination of block state based values versus tile entity values.
-        // TODO - delegate this to NbtProcessors when schematics are merged.
-        final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
         this.extraData = builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(builder.manipulators);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
-            for (ImmutableValue<?> value : manipulator.getValues()) {
-                tileBuilder.put(value.getKey(), value);
-            }
-        }
-        this.keyValueMap = tileBuilder.build();
-        this.valueSet = this.keyValueMap.isEmpty() ? ImmutableSet.of() : ImmutableSet.copyOf(this.keyValueMap.values());
         this.compound = builder.compound == null ? null : builder.compound.copy();
         this.changeFlag = BlockChangeFlag.ALL;
     }
@@ -380,8 +370,8 @@ public BlockSnapshot merge(BlockSnapshot that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        if (this.keyValueMap.containsKey(key)) {
-            return Optional.of((E) this.keyValueMap.get(key).get());
+        if (this.getTileMap().containsKey(key)) {
+            return Optional.of((E) this.getTileMap().get(key).get());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((E) this.blockKeyValueMap.get(key).get());
         }
@@ -415,6 +405,8 @@ private ImmutableSet<ImmutableValue<?>> getTileValueSet() {
 
     private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
         if (this.keyValueMap == null) {
+            // This avoids cross contamination of block state based values versus tile entity values.
+            // TODO - delegate this to NbtProcessors when schematics are merged.
             final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
             for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
                 for (ImmutableValue<?> value : manipulator.getValues()) {
@@ -436,8 +428,8 @@ private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        if (this.keyValueMap.containsKey(key)) {
-            return Optional.of((V) this.keyValueMap.get(key).asMutable());
+        if (this.getTileMap().containsKey(key)) {
+            return Optional.of((V) this.getTileMap().get(key).asMutable());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((V) this.blockKeyValueMap.get(key).asMutable());
         }
@@ -447,7 +439,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
     @Override
     public boolean supports(Key<?> key) {
         checkNotNull(key, "Key");
-        return this.keyValueMap.containsKey(key) || getKeyValueMap().containsKey(key);
+        return this.getTileMap().containsKey(key) || getKeyValueMap().containsKey(key);
     }
 
     @Override
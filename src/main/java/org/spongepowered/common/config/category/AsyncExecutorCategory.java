@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class AsyncExecutorCategory extends ConfigCategory {
+
+    @Setting(value = "thread-count", comment = "The number of threads used to run asynchronous tasks of plugins and Sponge."
+                                               + "\nSet to 0 to use twice the number of available processors, with a minimum of 8.")
+    private int threadCount = 0;
+
+    @Setting(value = "max-running-tasks-per-plugin", comment = "The maximum number of asynchronous tasks a single plugin may run at the same time."
+                                                               + "\nFurther tasks are queued until one of its running tasks completes."
+                                                               + "\nSet to 0 to allow a plugin to use every thread.")
+    private int maxRunningTasksPerPlugin = 0;
+
+    @Setting(value = "max-queued-tasks-per-plugin", comment = "The maximum number of asynchronous tasks a single plugin may have waiting to run."
+                                                              + "\nSet to 0 for no limit.")
+    private int maxQueuedTasksPerPlugin = 10000;
+
+    @Setting(value = "discard-oldest-on-rejection", comment = "If enabled, submitting a task to a full plugin queue discards the oldest queued task"
+                                                              + "\nof that plugin instead of rejecting the new task.")
+    private boolean discardOldestOnRejection = false;
+
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    public int getMaxRunningTasksPerPlugin() {
+        return this.maxRunningTasksPerPlugin;
+    }
+
+    public int getMaxQueuedTasksPerPlugin() {
+        return this.maxQueuedTasksPerPlugin;
+    }
+
+    public boolean isDiscardOldestOnRejection() {
+        return this.discardOldestOnRejection;
+    }
+}
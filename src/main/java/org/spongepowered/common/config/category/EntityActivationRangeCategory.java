@@ -35,6 +35,10 @@ public class EntityActivationRangeCategory extends ConfigCategory {
 
     @Setting(value = "auto-populate", comment = "If enabled, newly discovered entities will be added to this config with a default value.")
     private boolean autoPopulate = false;
+    @Setting(value = "chunk-distance-activation", comment = "If enabled, entities are activated by the distance of their chunk to the closest player,\n"
+            + "computed once per chunk and tick, rather than by checking every entity against every nearby player.\n"
+            + "Only entities in chunks at the edge of a player's activation range are checked individually.")
+    private boolean chunkDistanceActivation = false;
     @Setting(value = "defaults", comment = "Default activation ranges used for all entities unless overridden.")
     private Map<String, Integer> defaultRanges = new HashMap<>();
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
@@ -52,6 +56,10 @@ public boolean autoPopulateData() {
         return this.autoPopulate;
     }
 
+    public boolean useChunkDistanceActivation() {
+        return this.chunkDistanceActivation;
+    }
+
     public Map<String, Integer> getDefaultRanges() {
         return this.defaultRanges;
     }
@@ -39,6 +39,10 @@ public class TileEntityActivationCategory extends ConfigCategory {
     private int defaultBlockRange = 64;
     @Setting(value = "default-tick-rate", comment = "Default tick rate used for all tileentities unless overidden.")
     private int defaultTickRate = 1;
+    @Setting(value = "chunk-distance-activation", comment = "If enabled, tileentities are activated by the distance of their chunk to the closest player,\n"
+            + "computed once per chunk and tick, rather than by checking every tileentity against every watching player.\n"
+            + "Only tileentities in chunks at the edge of a player's activation range are checked individually.")
+    private boolean chunkDistanceActivation = false;
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, TileEntityActivationModCategory> modList = new HashMap<>();
 
@@ -49,6 +53,10 @@ public boolean autoPopulateData() {
         return this.autoPopulate;
     }
 
+    public boolean useChunkDistanceActivation() {
+        return this.chunkDistanceActivation;
+    }
+
     public int getDefaultBlockRange() {
         return this.defaultBlockRange;
     }
@@ -80,6 +80,11 @@ public class WorldCategory extends ConfigCategory {
                                                              + "\nloaded on the world and increases the chance for a drop in tps. (Default: 100)")
     private int maxChunkUnloads = 100;
 
+    @Setting(value = "chunk-unload-time-budget", comment = "The maximum time in microseconds spent unloading and saving queued chunks in a single tick. "
+                                                           + "\nWhen set above 0, this replaces 'max-chunk-unloads-per-tick' so that the number of"
+                                                           + "\nunloads adapts to the cost of saving each chunk. (Default: 0)")
+    private int chunkUnloadTimeBudget = 0;
+
     @Setting(value = "chunk-gc-load-threshold", comment = "The number of newly loaded chunks before triggering a forced cleanup. "
                                                           + "\nNote: When triggered, the loaded chunk threshold will reset and start incrementing. "
                                                           + "\nDisabled by default.")
@@ -89,6 +94,12 @@ public class WorldCategory extends ConfigCategory {
                                                      + "\nNote: This gets reset if the chunk becomes active again.")
     private int chunkUnloadDelay = 15;
 
+    @Setting(value = "async-chunk-loading", comment = "If enabled, asynchronous chunk load requests will read, decompress and parse chunk data"
+                                                      + "\non a background thread and only add the chunk to the world on the main thread."
+                                                      + "\nNote: Chunks requested synchronously while being loaded in the background"
+                                                      + "\nwill wait for the background read to finish. (Default: false)")
+    private boolean asyncChunkLoading = false;
+
     @Setting(value = "item-merge-radius", comment = "The defined merge radius for Item entities such that when two items are"
                                                     + "\nwithin the defined radius of each other, they will attempt to merge. Usually,"
                                                     + "\nthe default radius is set to 0.5 in Vanilla, however, for performance reasons"
@@ -205,6 +216,14 @@ public int getMaxChunkUnloads() {
         return this.maxChunkUnloads;
     }
 
+    public int getChunkUnloadTimeBudget() {
+        return this.chunkUnloadTimeBudget;
+    }
+
+    public boolean getAsyncChunkLoading() {
+        return this.asyncChunkLoading;
+    }
+
     public double getItemMergeRadius() {
         return this.itemMergeRadius;
     }
@@ -30,6 +30,7 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import ninja.leaping.configurate.objectmapping.Setting;
+import org.spongepowered.common.config.category.AsyncExecutorCategory;
 import org.spongepowered.common.config.category.BungeeCordCategory;
 import org.spongepowered.common.config.category.CauseTrackerCategory;
 import org.spongepowered.common.config.category.CommandsCategory;
@@ -76,6 +77,9 @@ public class GlobalConfig extends ConfigBase {
     @Setting(value = "cause-tracker")
     protected CauseTrackerCategory causeTracker = new CauseTrackerCategory();
 
+    @Setting(value = "async-executor", comment = "Configuration options related to the threads running asynchronous tasks")
+    private AsyncExecutorCategory asyncExecutor = new AsyncExecutorCategory();
+
     public GlobalConfig() {
         super();
     }
@@ -134,4 +138,8 @@ public CauseTrackerCategory getCauseTracker() {
         return causeTracker;
     }
 
+    public AsyncExecutorCategory getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
 }
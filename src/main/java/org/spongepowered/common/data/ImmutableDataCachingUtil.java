@@ -26,9 +26,11 @@
 
 import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
 
+import co.aikar.timings.TimingsStatistics;
+import co.aikar.util.JSONUtil;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.google.gson.JsonObject;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
@@ -37,8 +39,10 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,16 +52,48 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    private static final int SMALL_INT_MIN = -128;
+    private static final int SMALL_INT_MAX = 127;
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder directHits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private static final Cache<InternKey, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
         .concurrencyLevel(4)
+        .removalListener(notification -> {
+            if (notification.wasEvicted()) {
+                evictions.increment();
+            }
+        })
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
+    private static final Cache<InternKey, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
         .maximumSize(VALUE_CACHE_LIMIT)
+        .removalListener(notification -> {
+            if (notification.wasEvicted()) {
+                evictions.increment();
+            }
+        })
         .build();
 
+    // Manipulators of a single boolean, small int or enum argument are
+    // looked up by index instead of going through the cache
+    private static final ClassValue<DirectTable> directTables = new ClassValue<DirectTable>() {
+
+        @Override
+        protected DirectTable computeValue(Class<?> type) {
+            return new DirectTable();
+        }
+    };
+
+    static {
+        TimingsStatistics.register("immutable-data-cache", ImmutableDataCachingUtil::export);
+    }
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,56 +111,189 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
-        try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
-        } catch (Throwable e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+        if (args != null && args.length == 1) {
+            final DirectTable table = directTables.get(immutableClass);
+            final int index = table.indexOf(args[0]);
+            if (index >= 0) {
+                final Object cached = table.get(args[0], index);
+                if (cached != null) {
+                    directHits.increment();
+                    return (T) cached;
+                }
+                final T created = createManipulator(immutableClass, args);
+                table.set(args[0], index, created);
+                return created;
+            }
         }
+        final InternKey key = new InternKey(immutableClass, args);
+        final ImmutableDataManipulator<?, ?> cached = ImmutableDataCachingUtil.manipulatorCache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        final T created = createManipulator(immutableClass, args);
+        // The arguments are copied so that callers reusing their array can't alter the cached key
+        final ImmutableDataManipulator<?, ?> previous = ImmutableDataCachingUtil.manipulatorCache.asMap().putIfAbsent(key.copy(), created);
+        return previous == null ? created : (T) previous;
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final InternKey key = new InternKey(valueClass, new Object[] {usedKey, arg});
+        final ImmutableValue<?> cached = ImmutableDataCachingUtil.valueCache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        misses.increment();
+        final ImmutableValue<?> created;
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        } else {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                        }
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
+            if (extraArgs == null || extraArgs.length == 0) {
+                created = createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+            } else {
+                created = createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+            }
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
+            throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
+        } catch (RuntimeException e) {
             throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
+        final ImmutableValue<?> previous = ImmutableDataCachingUtil.valueCache.asMap().putIfAbsent(key, created);
+        return (T) (previous == null ? created : previous);
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
+    private static <T extends ImmutableDataManipulator<?, ?>> T createManipulator(final Class<T> immutableClass, final Object... args) {
+        misses.increment();
+        try {
+            return createUnsafeInstance(immutableClass, args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
+            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
+                                                    + Arrays.toString(args), e);
+        } catch (RuntimeException e) {
+            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+        }
+    }
+
+    private static JsonObject export() {
+        return JSONUtil.objectBuilder()
+                .add("hits", hits.sum())
+                .add("directHits", directHits.sum())
+                .add("misses", misses.sum())
+                .add("evictions", evictions.sum())
+                .add("manipulators", manipulatorCache.size())
+                .add("values", valueCache.size())
+                .build();
+    }
+
+    /**
+     * The cache key of an immutable class and its constructor arguments,
+     * which compares the arguments by equality instead of by their string
+     * representation.
+     */
+    private static final class InternKey {
+
+        private final Class<?> type;
+        private final Object[] args;
+        private final int hash;
+
+        InternKey(Class<?> type, @Nullable Object[] args) {
+            this.type = type;
+            this.args = args == null ? new Object[] {null} : args;
+            this.hash = 31 * type.hashCode() + Arrays.hashCode(this.args);
+        }
+
+        private InternKey(Class<?> type, Object[] args, int hash) {
+            this.type = type;
+            this.args = args;
+            this.hash = hash;
+        }
+
+        InternKey copy() {
+            return new InternKey(this.type, this.args.clone(), this.hash);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof InternKey)) {
+                return false;
+            }
+            final InternKey other = (InternKey) obj;
+            if (this.hash != other.hash || this.type != other.type || this.args.length != other.args.length) {
+                return false;
+            }
+            for (int i = 0; i < this.args.length; i++) {
+                final Object arg = this.args[i];
+                final Object otherArg = other.args[i];
+                // Integer 1 and Long 1 have different string forms in the old keys, keep them apart
+                if (arg != otherArg && (arg == null || otherArg == null || arg.getClass() != otherArg.getClass() || !arg.equals(otherArg))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * The instances of one immutable manipulator class for each boolean,
+     * small int and constant of one enum type. The table for the enum is
+     * sized from its constants once the first of them is requested.
+     */
+    private static final class DirectTable {
+
+        private static final int BOOLEAN_OFFSET = 0;
+        private static final int SMALL_INT_OFFSET = 2;
+
+        // Immutable manipulators only have final fields, so racing writes are harmless
+        private final Object[] primitives = new Object[SMALL_INT_OFFSET + SMALL_INT_MAX - SMALL_INT_MIN + 1];
+        @Nullable private volatile Class<?> enumType;
+        @Nullable private volatile Object[] enums;
+
+        int indexOf(@Nullable Object arg) {
+            if (arg instanceof Boolean) {
+                return BOOLEAN_OFFSET + ((Boolean) arg ? 1 : 0);
+            }
+            if (arg instanceof Integer) {
+                final int value = (Integer) arg;
+                return value >= SMALL_INT_MIN && value <= SMALL_INT_MAX ? SMALL_INT_OFFSET + value - SMALL_INT_MIN : -1;
+            }
+            if (arg instanceof Enum) {
+                final Class<?> declaringClass = ((Enum<?>) arg).getDeclaringClass();
+                if (this.enumType == null) {
+                    synchronized (this) {
+                        if (this.enumType == null) {
+                            this.enums = new Object[declaringClass.getEnumConstants().length];
+                            this.enumType = declaringClass;
+                        }
+                    }
+                }
+                return this.enumType == declaringClass ? ((Enum<?>) arg).ordinal() : -1;
+            }
+            return -1;
+        }
+
+        @Nullable
+        Object get(Object arg, int index) {
+            return arg instanceof Enum ? this.enums[index] : this.primitives[index];
+        }
+
+        void set(Object arg, int index, Object instance) {
+            if (arg instanceof Enum) {
+                this.enums[index] = instance;
             } else {
-                builder.append("{").append(object.toString()).append("}");
+                this.primitives[index] = instance;
             }
         }
-        return builder.toString();
     }
 }
@@ -80,6 +80,8 @@
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import javax.annotation.Nullable;
+
 public final class SpongeDataManager implements DataManager {
     static {
         TypeSerializers.getDefaultSerializers().registerType(TypeToken.of(DataSerializable.class), new DataSerializableTypeSerializer());
@@ -512,6 +514,31 @@ public <E, V extends BaseValue<E>> Optional<ValueProcessor<E, V>> getValueProces
         return Optional.ofNullable((ValueProcessor<E, ? extends BaseValue<E>>) this.valueDelegates.get(key));
     }
 
+    /**
+     * Gets the value processor for a key of unknown value type, see
+     * {@link #getRawValueProcessor(Key)}.
+     *
+     * @param key The key
+     * @return The value processor, or null if the key has no value processors
+     */
+    @Nullable
+    public ValueProcessor<?, ?> getRawWildValueProcessor(Key<?> key) {
+        return this.valueDelegates.get(key);
+    }
+
+    /**
+     * Gets the value processor for the given key without wrapping it into an
+     * {@link Optional}, for the key accessors of data holders.
+     *
+     * @param key The key
+     * @return The value processor, or null if the key has no value processors
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <E, V extends BaseValue<E>> ValueProcessor<E, V> getRawValueProcessor(Key<? extends BaseValue<E>> key) {
+        return (ValueProcessor<E, V>) this.valueDelegates.get(key);
+    }
+
     public RawDataValidator getValidators(ValidationType validationType) {
 
         return new DelegateDataValidator(ImmutableList.of(), validationType);
@@ -0,0 +1,341 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads selected paths out of a serialized {@link NBTTagCompound} without
+ * building the tags of everything else. Tags which are not on one of the
+ * requested {@link DataQuery} paths are skipped in the stream, so reading a
+ * few values of a chunk does not allocate its block and entity data.
+ *
+ * <p>A reader may also require tags of a given type to be present, without
+ * reading them, in order to validate the data like a full read would.</p>
+ *
+ * <p>A reader is immutable once created and may be shared between threads.</p>
+ */
+public final class NbtStreamReader {
+
+    // Same limit as NBTTagCompound#read, to not overflow the stack on malicious data
+    private static final int MAX_DEPTH = 512;
+    private static final byte NO_TYPE = -1;
+
+    private final PathNode root = new PathNode();
+
+    /**
+     * Creates a reader for the given paths, relative to the root compound.
+     * A path which points to a compound selects everything within it.
+     *
+     * @param queries The paths to read
+     */
+    public NbtStreamReader(Iterable<DataQuery> queries) {
+        this(queries, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a reader for the given paths, relative to the root compound,
+     * which only accepts data containing each of the required tags with the
+     * given type. Required tags are not read unless they are also on one of
+     * the requested paths.
+     *
+     * @param queries The paths to read
+     * @param requiredTags The types of the tags which must be present, by path
+     */
+    public NbtStreamReader(Iterable<DataQuery> queries, Map<DataQuery, Byte> requiredTags) {
+        for (DataQuery query : queries) {
+            this.getNode(query).selected = true;
+        }
+        for (Map.Entry<DataQuery, Byte> entry : requiredTags.entrySet()) {
+            this.getNode(entry.getKey()).requiredType = entry.getValue();
+        }
+        countRequiredChildren(this.root);
+    }
+
+    private PathNode getNode(DataQuery query) {
+        checkArgument(!query.getParts().isEmpty(), "Cannot read an empty path");
+        PathNode node = this.root;
+        for (String part : query.getParts()) {
+            node = node.children.computeIfAbsent(part, key -> new PathNode());
+        }
+        return node;
+    }
+
+    private static void countRequiredChildren(PathNode node) {
+        for (PathNode child : node.children.values()) {
+            countRequiredChildren(child);
+            if (child.isRequired()) {
+                node.requiredChildren++;
+            }
+        }
+    }
+
+    /**
+     * Reads the root compound from the input, only keeping the tags on the
+     * requested paths. Paths which do not exist in the data are left out.
+     *
+     * @param input The uncompressed input, positioned at the root tag
+     * @return The compound holding the requested tags, or null if one of the
+     *     required tags is missing
+     * @throws IOException If the data could not be read
+     */
+    @Nullable
+    public NBTTagCompound read(DataInput input) throws IOException {
+        final byte type = input.readByte();
+        if (type != NbtDataUtil.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        skipString(input);
+        return readCompound(input, this.root, 0);
+    }
+
+    // Always reads the compound to its end, returns null if a required tag is missing
+    @Nullable
+    private static NBTTagCompound readCompound(DataInput input, PathNode node, int depth) throws IOException {
+        checkDepth(depth);
+        final NBTTagCompound compound = new NBTTagCompound();
+        boolean valid = true;
+        int requiredFound = 0;
+        byte type;
+        while ((type = input.readByte()) != NbtDataUtil.TAG_END) {
+            final String name = input.readUTF();
+            final PathNode child = node.children.get(name);
+            if (child == null) {
+                skipTag(input, type, depth + 1);
+                continue;
+            }
+            if (child.requiredType != NO_TYPE && child.requiredType != type
+                    || child.requiredChildren > 0 && type != NbtDataUtil.TAG_COMPOUND) {
+                valid = false;
+            } else if (child.isRequired()) {
+                requiredFound++;
+            }
+            if (child.selected) {
+                final NBTBase tag = readTag(input, type, depth + 1);
+                if (child.requiredChildren > 0 && !(tag instanceof NBTTagCompound && hasRequiredTags((NBTTagCompound) tag, child))) {
+                    valid = false;
+                }
+                compound.setTag(name, tag);
+            } else if (type == NbtDataUtil.TAG_COMPOUND) {
+                final NBTTagCompound inner = readCompound(input, child, depth + 1);
+                if (inner == null) {
+                    valid = false;
+                } else if (!inner.hasNoTags()) {
+                    compound.setTag(name, inner);
+                }
+            } else {
+                // Either a required tag that isn't read, or the path continues below a tag that can't hold it
+                skipTag(input, type, depth + 1);
+            }
+        }
+        return valid && requiredFound == node.requiredChildren ? compound : null;
+    }
+
+    // Checks the required tags below a node whose compound was read whole
+    private static boolean hasRequiredTags(NBTTagCompound compound, PathNode node) {
+        for (Map.Entry<String, PathNode> entry : node.children.entrySet()) {
+            final PathNode child = entry.getValue();
+            if (!child.isRequired()) {
+                continue;
+            }
+            final NBTBase tag = compound.getTag(entry.getKey());
+            if (tag == null || child.requiredType != NO_TYPE && tag.getId() != child.requiredType) {
+                return false;
+            }
+            if (child.requiredChildren > 0 && !(tag instanceof NBTTagCompound && hasRequiredTags((NBTTagCompound) tag, child))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static NBTBase readTag(DataInput input, byte type, int depth) throws IOException {
+        checkDepth(depth);
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                return new NBTTagByte(input.readByte());
+            case NbtDataUtil.TAG_SHORT:
+                return new NBTTagShort(input.readShort());
+            case NbtDataUtil.TAG_INT:
+                return new NBTTagInt(input.readInt());
+            case NbtDataUtil.TAG_LONG:
+                return new NBTTagLong(input.readLong());
+            case NbtDataUtil.TAG_FLOAT:
+                return new NBTTagFloat(input.readFloat());
+            case NbtDataUtil.TAG_DOUBLE:
+                return new NBTTagDouble(input.readDouble());
+            case NbtDataUtil.TAG_BYTE_ARRAY: {
+                final byte[] bytes = new byte[readLength(input)];
+                input.readFully(bytes);
+                return new NBTTagByteArray(bytes);
+            }
+            case NbtDataUtil.TAG_STRING:
+                return new NBTTagString(input.readUTF());
+            case NbtDataUtil.TAG_LIST: {
+                final byte elementType = input.readByte();
+                final int length = readLength(input);
+                final NBTTagList list = new NBTTagList();
+                for (int i = 0; i < length; i++) {
+                    list.appendTag(readTag(input, elementType, depth + 1));
+                }
+                return list;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                final NBTTagCompound compound = new NBTTagCompound();
+                byte innerType;
+                while ((innerType = input.readByte()) != NbtDataUtil.TAG_END) {
+                    final String name = input.readUTF();
+                    compound.setTag(name, readTag(input, innerType, depth + 1));
+                }
+                return compound;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY: {
+                final int[] ints = new int[readLength(input)];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = input.readInt();
+                }
+                return new NBTTagIntArray(ints);
+            }
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    private static void skipTag(DataInput input, byte type, int depth) throws IOException {
+        checkDepth(depth);
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                skipFully(input, 1);
+                break;
+            case NbtDataUtil.TAG_SHORT:
+                skipFully(input, 2);
+                break;
+            case NbtDataUtil.TAG_INT:
+            case NbtDataUtil.TAG_FLOAT:
+                skipFully(input, 4);
+                break;
+            case NbtDataUtil.TAG_LONG:
+            case NbtDataUtil.TAG_DOUBLE:
+                skipFully(input, 8);
+                break;
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                skipFully(input, readLength(input));
+                break;
+            case NbtDataUtil.TAG_STRING:
+                skipString(input);
+                break;
+            case NbtDataUtil.TAG_LIST: {
+                final byte elementType = input.readByte();
+                final int length = readLength(input);
+                for (int i = 0; i < length; i++) {
+                    skipTag(input, elementType, depth + 1);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_COMPOUND: {
+                byte innerType;
+                while ((innerType = input.readByte()) != NbtDataUtil.TAG_END) {
+                    skipString(input);
+                    skipTag(input, innerType, depth + 1);
+                }
+                break;
+            }
+            case NbtDataUtil.TAG_INT_ARRAY:
+                skipFully(input, readLength(input) * 4L);
+                break;
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    private static void skipString(DataInput input) throws IOException {
+        skipFully(input, input.readUnsignedShort());
+    }
+
+    private static void skipFully(DataInput input, long count) throws IOException {
+        while (count > 0) {
+            final int skipped = input.skipBytes((int) Math.min(count, Integer.MAX_VALUE));
+            if (skipped <= 0) {
+                // skipBytes may give up early without reaching the end, reading tells us which it was
+                input.readByte();
+                count--;
+            } else {
+                count -= skipped;
+            }
+        }
+    }
+
+    private static int readLength(DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT length " + length);
+        }
+        return length;
+    }
+
+    private static void checkDepth(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+    }
+
+    private static final class PathNode {
+
+        final Map<String, PathNode> children = new HashMap<>();
+        boolean selected;
+        byte requiredType = NO_TYPE;
+        // The number of children which are required or have required children
+        int requiredChildren;
+
+        boolean isRequired() {
+            return this.requiredType != NO_TYPE || this.requiredChildren > 0;
+        }
+
+    }
+
+}
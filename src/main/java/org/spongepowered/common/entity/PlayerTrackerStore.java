@@ -0,0 +1,265 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.Arrays;
+
+/**
+ * Stores the owner and notifier indexes of the tracked block positions of a
+ * chunk, keyed by their packed chunk relative position.
+ *
+ * <p>Positions are kept in an open addressed table of parallel int arrays,
+ * so neither lookups nor updates allocate. An index of {@code -1} means
+ * that there is no owner or notifier.</p>
+ */
+public final class PlayerTrackerStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // Slot 0 of the arrays marks empty slots, so the 0 key is stored at index n
+    private int[] keys;
+    private int[] owners;
+    private int[] notifiers;
+    private boolean containsZeroKey;
+    private int mask;
+    private int size;
+    private int maxFill;
+
+    public PlayerTrackerStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PlayerTrackerStore(int expected) {
+        this.allocate(HashCommon.arraySize(Math.max(expected, 2), LOAD_FACTOR));
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new int[capacity + 1];
+        this.owners = new int[capacity + 1];
+        this.notifiers = new int[capacity + 1];
+        this.mask = capacity - 1;
+        this.maxFill = HashCommon.maxFill(capacity, LOAD_FACTOR);
+    }
+
+    private int find(int pos) {
+        if (pos == 0) {
+            return this.containsZeroKey ? this.mask + 1 : -1;
+        }
+        int index = HashCommon.mix(pos) & this.mask;
+        int key;
+        while ((key = this.keys[index]) != 0) {
+            if (key == pos) {
+                return index;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(int pos) {
+        return this.find(pos) != -1;
+    }
+
+    public int getOwner(int pos) {
+        final int index = this.find(pos);
+        return index == -1 ? -1 : this.owners[index];
+    }
+
+    public int getNotifier(int pos) {
+        final int index = this.find(pos);
+        return index == -1 ? -1 : this.notifiers[index];
+    }
+
+    public void setOwner(int pos, int ownerIndex) {
+        this.owners[this.findOrInsert(pos)] = ownerIndex;
+    }
+
+    public void setNotifier(int pos, int notifierIndex) {
+        this.notifiers[this.findOrInsert(pos)] = notifierIndex;
+    }
+
+    public void set(int pos, int ownerIndex, int notifierIndex) {
+        final int index = this.findOrInsert(pos);
+        this.owners[index] = ownerIndex;
+        this.notifiers[index] = notifierIndex;
+    }
+
+    private int findOrInsert(int pos) {
+        int index;
+        if (pos == 0) {
+            index = this.mask + 1;
+            if (this.containsZeroKey) {
+                return index;
+            }
+            this.containsZeroKey = true;
+        } else {
+            index = HashCommon.mix(pos) & this.mask;
+            int key;
+            while ((key = this.keys[index]) != 0) {
+                if (key == pos) {
+                    return index;
+                }
+                index = (index + 1) & this.mask;
+            }
+            this.keys[index] = pos;
+        }
+        this.owners[index] = -1;
+        this.notifiers[index] = -1;
+        if (++this.size > this.maxFill) {
+            this.rehash(this.keys.length * 2 - 2);
+            return this.find(pos);
+        }
+        return index;
+    }
+
+    public void remove(int pos) {
+        final int index = this.find(pos);
+        if (index == -1) {
+            return;
+        }
+        this.size--;
+        if (pos == 0) {
+            this.containsZeroKey = false;
+            return;
+        }
+        // Shift back the following entries of the probe sequence into the freed slot
+        int last = index;
+        int slot = index;
+        while (true) {
+            slot = (slot + 1) & this.mask;
+            final int key = this.keys[slot];
+            if (key == 0) {
+                break;
+            }
+            final int home = HashCommon.mix(key) & this.mask;
+            if (last <= slot ? last >= home || home > slot : last >= home && home > slot) {
+                this.keys[last] = key;
+                this.owners[last] = this.owners[slot];
+                this.notifiers[last] = this.notifiers[slot];
+                last = slot;
+            }
+        }
+        this.keys[last] = 0;
+    }
+
+    public void clear() {
+        if (this.size != 0) {
+            this.size = 0;
+            this.containsZeroKey = false;
+            Arrays.fill(this.keys, 0);
+        }
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = this.keys;
+        final int[] oldOwners = this.owners;
+        final int[] oldNotifiers = this.notifiers;
+        final int oldCapacity = oldKeys.length - 1;
+        this.allocate(capacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            final int key = oldKeys[i];
+            if (key != 0) {
+                int index = HashCommon.mix(key) & this.mask;
+                while (this.keys[index] != 0) {
+                    index = (index + 1) & this.mask;
+                }
+                this.keys[index] = key;
+                this.owners[index] = oldOwners[i];
+                this.notifiers[index] = oldNotifiers[i];
+            }
+        }
+        this.owners[capacity] = oldOwners[oldCapacity];
+        this.notifiers[capacity] = oldNotifiers[oldCapacity];
+    }
+
+    /**
+     * Writes the tracked positions into a single array, holding the position,
+     * owner index and notifier index of each tracked block in turn. Positions
+     * without owner and notifier are left out.
+     *
+     * @return The serialized positions
+     */
+    public int[] toIntArray() {
+        int[] data = new int[this.size * 3];
+        int offset = 0;
+        final int capacity = this.mask + 1;
+        for (int i = 0; i <= capacity; i++) {
+            if (i < capacity ? this.keys[i] != 0 : this.containsZeroKey) {
+                if (this.owners[i] == -1 && this.notifiers[i] == -1) {
+                    continue;
+                }
+                data[offset++] = this.keys[i];
+                data[offset++] = this.owners[i];
+                data[offset++] = this.notifiers[i];
+            }
+        }
+        return offset == data.length ? data : Arrays.copyOf(data, offset);
+    }
+
+    /**
+     * Converts a position packed into a short, as used by the previous
+     * format for blocks up to y 255, into the int packed position.
+     *
+     * @param pos The short packed position
+     * @return The int packed position
+     */
+    public static int fromShortPos(short pos) {
+        final int x = pos & 0xF;
+        final int y = (pos >> 4) & 0xFF;
+        final int z = (pos >> 12) & 0xF;
+        return x | (y << 4) | (z << 28);
+    }
+
+    /**
+     * Reads the tracked positions written by {@link #toIntArray()}.
+     *
+     * @param data The serialized positions
+     * @return The store
+     */
+    public static PlayerTrackerStore fromIntArray(int[] data) {
+        checkArgument(data.length % 3 == 0, "Tracked block data must consist of position, owner and notifier triples");
+        final PlayerTrackerStore store = new PlayerTrackerStore(data.length / 3);
+        for (int i = 0; i < data.length; i += 3) {
+            if (data[i + 1] != -1 || data[i + 2] != -1) {
+                store.set(data[i], data[i + 1], data[i + 2]);
+            }
+        }
+        return store;
+    }
+
+}
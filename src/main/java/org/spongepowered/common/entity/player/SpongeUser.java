@@ -51,11 +51,12 @@
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.storage.PlayerDataWriter;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -82,6 +83,9 @@ public class SpongeUser implements ArmorEquipable, Tamer, DataSerializable, Carr
     private final GameProfile profile;
 
     private final Map<UUID, RespawnLocation> spawnLocations = Maps.newHashMap();
+    // Incremented on every change, so a save only marks the user as clean if
+    // nothing changed since its snapshot was taken
+    private int modCount;
 
     public SpongeUser(GameProfile profile) {
         this.profile = profile;
@@ -124,13 +128,16 @@ public void readFromNbt(NBTTagCompound compound) {
     }
 
     public void writeToNbt(NBTTagCompound compound) {
+        writeSpawnLocations(compound, this.spawnLocations);
+    }
 
+    private static void writeSpawnLocations(NBTTagCompound compound, Map<UUID, RespawnLocation> spawnLocations) {
         final NBTTagCompound forgeCompound = compound.getCompoundTag(NbtDataUtil.FORGE_DATA);
         final NBTTagCompound spongeCompound = forgeCompound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
         spongeCompound.removeTag(NbtDataUtil.USER_SPAWN_LIST);
 
         final NBTTagList spawnList = new NBTTagList();
-        for (Entry<UUID, RespawnLocation> entry : this.spawnLocations.entrySet()) {
+        for (Entry<UUID, RespawnLocation> entry : spawnLocations.entrySet()) {
             final RespawnLocation respawn = entry.getValue();
 
             final NBTTagCompound spawnCompound = new NBTTagCompound();
@@ -287,30 +294,47 @@ public ImmutableMap<UUID, RespawnLocation> removeAllBeds() {
     }
 
     private void markDirty() {
+        this.modCount++;
         dirtyUsers.add(this);
     }
 
-    public void save() {
+    private File getDataFile() {
         SaveHandler saveHandler = (SaveHandler) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
-        File dataFile = new File(saveHandler.playersDirectory, getUniqueId() + ".dat");
-        NBTTagCompound tag;
-        if (dataFile.isFile()) {
-            try {
-                tag = CompressedStreamTools.readCompressed(new FileInputStream(dataFile));
-            } catch (IOException ignored) {
-                // Nevermind
+        return new File(saveHandler.playersDirectory, getUniqueId() + ".dat");
+    }
+
+    public void save() {
+        // Snapshot the data, reading and writing the file happens in the background
+        final Map<UUID, RespawnLocation> spawnLocations = ImmutableMap.copyOf(this.spawnLocations);
+        final int modCount = this.modCount;
+        PlayerDataWriter.update(getDataFile().toPath(), dataFile -> {
+            NBTTagCompound tag;
+            if (Files.isRegularFile(dataFile)) {
+                try (InputStream stream = Files.newInputStream(dataFile)) {
+                    tag = CompressedStreamTools.readCompressed(stream);
+                } catch (IOException ignored) {
+                    // Nevermind
+                    tag = new NBTTagCompound();
+                }
+            } else {
                 tag = new NBTTagCompound();
             }
-        } else {
-            tag = new NBTTagCompound();
-        }
-        writeToNbt(tag);
-        try {
-            CompressedStreamTools.writeCompressed(tag, new FileOutputStream(dataFile));
-            dirtyUsers.remove(this);
-        } catch (IOException e) {
-            SpongeImpl.getLogger().warn("Failed to save user file [{}]!", dataFile, e);
-        }
+            writeSpawnLocations(tag, spawnLocations);
+            return tag;
+        }).thenRun(() -> SpongeImpl.getServer().addScheduledTask(() -> {
+            // The user stays dirty if the write failed, so it is saved again later
+            if (this.modCount == modCount) {
+                dirtyUsers.remove(this);
+            }
+        }));
+    }
+
+    /**
+     * Waits for a pending save of this user to be written, so that its data
+     * file can be read.
+     */
+    public void awaitSave() {
+        PlayerDataWriter.await(getDataFile().toPath());
     }
 
 }
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.player.tab;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.play.server.SPacketPlayerListItem;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the tab list removals caused by players leaving the server during
+ * a tick and sends them to every player in a single packet once per tick.
+ *
+ * <p>Additions of joining players are not deferred. A client ignores the
+ * spawn packet of a player it has no tab list entry for, so the entry has
+ * to be sent before the joining player is spawned. Every viewer that can
+ * see the joining player still shares one packet.</p>
+ *
+ * <p>All methods must be called from the main thread.</p>
+ */
+public final class TabListUpdateQueue {
+
+    private final List<EntityPlayerMP> left = new ArrayList<>();
+
+    /**
+     * Adds the players the joining player can see to its tab list, and the
+     * joining player to the tab lists of the players that can see it.
+     *
+     * @param player The joining player
+     * @param players The players on the server, including the joining player
+     */
+    public void join(EntityPlayerMP player, List<EntityPlayerMP> players) {
+        // A removal queued for an earlier connection of the same player would remove the new entry
+        this.left.removeIf(leaving -> leaving.getUniqueID().equals(player.getUniqueID()));
+
+        final List<EntityPlayerMP> visible = new ArrayList<>(players.size());
+        SPacketPlayerListItem addPacket = null;
+        for (EntityPlayerMP other : players) {
+            if (((Player) player).canSee((Player) other)) {
+                visible.add(other);
+            }
+            if (other != player && ((Player) other).canSee((Player) player)) {
+                if (addPacket == null) {
+                    addPacket = new SPacketPlayerListItem(SPacketPlayerListItem.Action.ADD_PLAYER, player);
+                }
+                other.connection.sendPacket(addPacket);
+            }
+        }
+        if (!visible.isEmpty()) {
+            player.connection.sendPacket(new SPacketPlayerListItem(SPacketPlayerListItem.Action.ADD_PLAYER, visible));
+        }
+    }
+
+    /**
+     * Queues the leaving player to be removed from the tab lists of every
+     * remaining player.
+     *
+     * @param player The leaving player
+     */
+    public void leave(EntityPlayerMP player) {
+        this.left.add(player);
+    }
+
+    /**
+     * Sends the removals queued since the last flush.
+     *
+     * @param players The players on the server
+     */
+    public void flush(List<EntityPlayerMP> players) {
+        if (this.left.isEmpty()) {
+            return;
+        }
+        final SPacketPlayerListItem removePacket = new SPacketPlayerListItem(SPacketPlayerListItem.Action.REMOVE_PLAYER, this.left);
+        for (EntityPlayerMP viewer : players) {
+            viewer.connection.sendPacket(removePacket);
+        }
+        this.left.clear();
+    }
+
+}
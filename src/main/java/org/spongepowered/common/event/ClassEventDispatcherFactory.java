@@ -0,0 +1,255 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import co.aikar.timings.Timing;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates an {@link EventDispatcher} class per combination of listener
+ * classes and orders, calling every listener directly so that each call
+ * site only ever sees a single listener class.
+ *
+ * <p>Generated classes are shared between event types with the same
+ * listeners, so registering and unregistering the same listeners again does
+ * not define new classes.</p>
+ */
+public final class ClassEventDispatcherFactory {
+
+    // Larger dispatchers would risk hitting the method size limit
+    private static final int MAX_GENERATED_LISTENERS = 256;
+
+    private static final String BASE_DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String TIMING_NAME = Type.getInternalName(Timing.class);
+    private static final String TIMING_DESCRIPTOR = Type.getDescriptor(Timing.class);
+    private static final String LISTENER_NAME = Type.getInternalName(EventListener.class);
+    private static final String REGISTERED_LISTENER_NAME = Type.getInternalName(RegisteredListener.class);
+    private static final String ORDER_DESCRIPTOR = Type.getDescriptor(Order.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([" + Type.getDescriptor(RegisteredListener.class) + ")V";
+    private static final String HANDLE_DESCRIPTOR = '(' + EVENT_DESCRIPTOR + ")V";
+    private static final String HANDLE_EXCEPTION_DESCRIPTOR = '(' + EVENT_DESCRIPTOR + Type.getDescriptor(RegisteredListener.class)
+            + Type.getDescriptor(Throwable.class) + ")V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final DefineableClassLoader classLoader;
+    private final String targetPackage;
+    private final Map<List<Object>, Constructor<? extends EventDispatcher>> cache = Maps.newConcurrentMap();
+
+    public ClassEventDispatcherFactory(String targetPackage, DefineableClassLoader classLoader) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+        this.classLoader = checkNotNull(classLoader, "classLoader");
+    }
+
+    /**
+     * Creates a dispatcher for the given listeners, which must already be
+     * sorted by order.
+     *
+     * @param eventClass The event class the listeners are baked for
+     * @param listeners The listeners
+     * @return The dispatcher
+     */
+    public EventDispatcher create(Class<? extends Event> eventClass, List<RegisteredListener<?>> listeners) {
+        final RegisteredListener<?>[] array = listeners.toArray(new RegisteredListener<?>[listeners.size()]);
+        if (array.length == 0 || array.length > MAX_GENERATED_LISTENERS) {
+            return new EventDispatcher.Iterating(array);
+        }
+        final ImmutableList.Builder<Object> shape = ImmutableList.builder();
+        for (RegisteredListener<?> listener : array) {
+            shape.add(this.getCallType(listener)).add(listener.getOrder());
+        }
+        try {
+            return this.cache.computeIfAbsent(shape.build(), key -> this.createClass(eventClass, array)).newInstance((Object) array);
+        } catch (Exception e) {
+            SpongeImpl.getLogger().error("Failed to generate event dispatcher for {}", eventClass.getName(), e);
+            return new EventDispatcher.Iterating(array);
+        }
+    }
+
+    /**
+     * Gets the type the listener can be called through from the generated
+     * class, which is its own class if it was generated by us.
+     */
+    private Class<?> getCallType(RegisteredListener<?> listener) {
+        final Class<?> listenerClass = listener.getListener().getClass();
+        if (listenerClass.getClassLoader() == this.classLoader && Modifier.isPublic(listenerClass.getModifiers())
+                && Modifier.isFinal(listenerClass.getModifiers())) {
+            return listenerClass;
+        }
+        return EventListener.class;
+    }
+
+    private Constructor<? extends EventDispatcher> createClass(Class<? extends Event> eventClass, RegisteredListener<?>[] listeners) {
+        final String name = this.targetPackage + eventClass.getSimpleName() + "Dispatcher_" + this.id.incrementAndGet();
+        final Class<? extends EventDispatcher> dispatcherClass = this.classLoader.defineClass(name, this.generateClass(name, listeners));
+        try {
+            return dispatcherClass.getConstructor(RegisteredListener[].class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] generateClass(String name, RegisteredListener<?>[] listeners) {
+        name = name.replace('.', '/');
+        final Class<?>[] callTypes = new Class<?>[listeners.length];
+        for (int i = 0; i < listeners.length; i++) {
+            callTypes[i] = this.getCallType(listeners[i]);
+        }
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_DISPATCHER, null);
+        for (int i = 0; i < listeners.length; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, Type.getDescriptor(callTypes[i]), null, null).visitEnd();
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "timing" + i, TIMING_DESCRIPTOR, null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_DISPATCHER, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < listeners.length; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER_NAME, "getListener", "()" + Type.getDescriptor(EventListener.class), false);
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(callTypes[i]));
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, Type.getDescriptor(callTypes[i]));
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER_NAME, "getTimingsHandler", "()" + TIMING_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "timing" + i, TIMING_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "dispatch", HANDLE_DESCRIPTOR, null, null);
+            mv.visitCode();
+            final Label[] starts = new Label[listeners.length];
+            final Label[] ends = new Label[listeners.length];
+            final Label[] handlers = new Label[listeners.length];
+            for (int i = 0; i < listeners.length; i++) {
+                starts[i] = new Label();
+                ends[i] = new Label();
+                handlers[i] = new Label();
+                mv.visitTryCatchBlock(starts[i], ends[i], handlers[i], Type.getInternalName(Throwable.class));
+            }
+            for (int i = 0; i < listeners.length; i++) {
+                final Label next = new Label();
+                mv.visitLabel(starts[i]);
+                // timing.startTimingIfSync()
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "timing" + i, TIMING_DESCRIPTOR);
+                mv.visitMethodInsn(INVOKEINTERFACE, TIMING_NAME, "startTimingIfSync", "()V", true);
+                // ((AbstractEvent) event).currentOrder = Order.X
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(AbstractEvent.class));
+                mv.visitFieldInsn(GETSTATIC, Type.getInternalName(Order.class), listeners[i].getOrder().name(), ORDER_DESCRIPTOR);
+                mv.visitFieldInsn(PUTFIELD, Type.getInternalName(AbstractEvent.class), "currentOrder", ORDER_DESCRIPTOR);
+                // listener.handle(event)
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, Type.getDescriptor(callTypes[i]));
+                mv.visitVarInsn(ALOAD, 1);
+                if (callTypes[i] == EventListener.class) {
+                    mv.visitMethodInsn(INVOKEINTERFACE, LISTENER_NAME, "handle", HANDLE_DESCRIPTOR, true);
+                } else {
+                    mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(callTypes[i]), "handle", HANDLE_DESCRIPTOR, false);
+                }
+                // timing.stopTimingIfSync()
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "timing" + i, TIMING_DESCRIPTOR);
+                mv.visitMethodInsn(INVOKEINTERFACE, TIMING_NAME, "stopTimingIfSync", "()V", true);
+                mv.visitLabel(ends[i]);
+                mv.visitJumpInsn(GOTO, next);
+                // catch (Throwable t) { handleException(event, this.listeners[i], t); }
+                mv.visitLabel(handlers[i]);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, BASE_DISPATCHER, "listeners", "[" + Type.getDescriptor(RegisteredListener.class));
+                mv.visitIntInsn(SIPUSH, i);
+                mv.visitInsn(AALOAD);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKESTATIC, BASE_DISPATCHER, "handleException", HANDLE_EXCEPTION_DESCRIPTOR, false);
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.SpongeImpl;
+
+/**
+ * Passes an event to a fixed, ordered set of listeners.
+ *
+ * <p>Dispatchers are usually generated per set of listeners by the
+ * {@link ClassEventDispatcherFactory}, calling each listener directly
+ * rather than iterating over them.</p>
+ */
+public abstract class EventDispatcher {
+
+    protected final RegisteredListener<?>[] listeners;
+
+    protected EventDispatcher(RegisteredListener<?>[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Passes the event to every listener, in order. Exceptions thrown by a
+     * listener are logged and do not prevent later listeners from being
+     * called.
+     *
+     * @param event The event
+     */
+    public abstract void dispatch(Event event);
+
+    protected static void handleException(Event event, RegisteredListener<?> listener, Throwable throwable) {
+        listener.getTimingsHandler().stopTimingIfSync();
+        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), listener.getPlugin(), throwable);
+    }
+
+    /**
+     * A dispatcher iterating over its listeners, used where no dispatcher
+     * could be generated.
+     */
+    static final class Iterating extends EventDispatcher {
+
+        Iterating(RegisteredListener<?>[] listeners) {
+            super(listeners);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @Override
+        public void dispatch(Event event) {
+            for (RegisteredListener listener : this.listeners) {
+                try {
+                    listener.getTimingsHandler().startTimingIfSync();
+                    ((AbstractEvent) event).currentOrder = listener.getOrder();
+                    listener.handle(event);
+                    listener.getTimingsHandler().stopTimingIfSync();
+                } catch (Throwable t) {
+                    handleException(event, listener, t);
+                }
+            }
+        }
+    }
+}
@@ -70,6 +70,10 @@ public Order getOrder() {
         return this.order;
     }
 
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
@@ -103,12 +107,18 @@ public int compareTo(RegisteredListener<?> handler) {
     public static final class Cache {
 
         private final List<RegisteredListener<?>> listeners;
+        private final EventDispatcher dispatcher;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
 
         private static final Order[] ORDERS = Order.values();
 
         Cache(List<RegisteredListener<?>> listeners) {
+            this(listeners, new EventDispatcher.Iterating(listeners.toArray(new RegisteredListener<?>[listeners.size()])));
+        }
+
+        Cache(List<RegisteredListener<?>> listeners, EventDispatcher dispatcher) {
             this.listeners = listeners;
+            this.dispatcher = checkNotNull(dispatcher, "dispatcher");
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
@@ -123,6 +133,10 @@ public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        public EventDispatcher getDispatcher() {
+            return this.dispatcher;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
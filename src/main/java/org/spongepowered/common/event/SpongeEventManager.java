@@ -30,9 +30,11 @@
 import co.aikar.timings.TimingsManager;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import org.spongepowered.api.event.Cancellable;
@@ -52,8 +54,8 @@
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -65,23 +67,45 @@
 @Singleton
 public class SpongeEventManager implements EventManager {
 
+    /**
+     * Serializes changes to the registered handlers. Readers never take this
+     * lock, they only see the published {@link #handlersByEvent} snapshot.
+     */
     private final Object lock = new Object();
 
     private final PluginManager pluginManager;
     private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
             new FilterFactory("org.spongepowered.common.event.filters", this.classLoader), this.classLoader);
-    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
-    private final Set<Object> registeredListeners = Sets.newHashSet();
+    private final ClassEventDispatcherFactory dispatcherFactory = new ClassEventDispatcherFactory("org.spongepowered.common.event.dispatcher",
+            this.classLoader);
+    /**
+     * An immutable snapshot of the handlers registered per event class,
+     * replaced as a whole whenever handlers are added or removed.
+     */
+    private volatile Map<Class<?>, List<RegisteredListener<?>>> handlersByEvent = ImmutableMap.of();
+    /**
+     * Incremented after every change to {@link #handlersByEvent}.
+     */
+    private volatile int handlersVersion;
+    private final Set<Object> registeredListeners = Sets.newConcurrentHashSet();
 
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
+    /**
+     * The event types each event class is assignable to, which never change
+     * once the class is loaded.
+     */
+    private final Map<Class<?>, Set<Class<?>>> eventTypes = new ConcurrentHashMap<>();
+
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Entries are checked against {@link #handlersVersion} when they are
+     * used, and only baked again if the handlers of one of the event types
+     * they are assignable to changed. This also catches a bake which raced
+     * with a change of the handlers.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
+    private final LoadingCache<Class<? extends Event>, BakedHandlers> handlersCache =
             Caffeine.newBuilder().initialCapacity(150).build((eventClass) -> bakeHandlers(eventClass));
 
     @Inject
@@ -104,7 +128,7 @@ public SpongeEventManager(PluginManager pluginManager) {
             Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
             Field cacheData = innerCacheClass.getDeclaredField("data");
             cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
+            ConcurrentHashMap<Class<? extends Event>, BakedHandlers> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
             cacheData.set(innerCacheValue, newBackingData);
         } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
             SpongeImpl.getLogger().warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
@@ -112,20 +136,63 @@ public SpongeEventManager(PluginManager pluginManager) {
         }
     }
 
-    <T extends Event> RegisteredListener.Cache bakeHandlers(Class<T> rootEvent) {
+    <T extends Event> BakedHandlers bakeHandlers(Class<T> rootEvent) {
+        // Read the version before the handlers, a change in between only makes the bake look outdated
+        final int version = this.handlersVersion;
+        final List<List<RegisteredListener<?>>> sources = getHandlerSources(rootEvent, this.handlersByEvent);
         List<RegisteredListener<?>> handlers = Lists.newArrayList();
-        Set<Class<? super T>> types = TypeToken.of(rootEvent).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<? super T> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
-                }
+        for (List<RegisteredListener<?>> typeHandlers : sources) {
+            if (typeHandlers != null) {
+                handlers.addAll(typeHandlers);
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return new BakedHandlers(new RegisteredListener.Cache(handlers, this.dispatcherFactory.create(rootEvent, handlers)), sources, version);
+    }
+
+    /**
+     * Gets the registered handler lists of every event type the given event
+     * class is assignable to, or null for types without handlers. The lists
+     * are immutable and only replaced when their handlers change.
+     */
+    private List<List<RegisteredListener<?>>> getHandlerSources(Class<? extends Event> eventClass,
+            Map<Class<?>, List<RegisteredListener<?>>> handlersByEvent) {
+        final Set<Class<?>> types = getEventTypes(eventClass);
+        final List<List<RegisteredListener<?>>> sources = Lists.newArrayListWithCapacity(types.size());
+        for (Class<?> type : types) {
+            sources.add(handlersByEvent.get(type));
+        }
+        return sources;
+    }
+
+    private RegisteredListener.Cache getHandlerCache(Class<? extends Event> eventClass) {
+        while (true) {
+            final BakedHandlers baked = this.handlersCache.get(eventClass);
+            final int version = this.handlersVersion;
+            if (baked.version == version) {
+                return baked.cache;
+            }
+            if (baked.isCurrent(getHandlerSources(eventClass, this.handlersByEvent))) {
+                // Only handlers of unrelated event types changed
+                baked.version = version;
+                return baked.cache;
+            }
+            this.handlersCache.asMap().remove(eventClass, baked);
+        }
+    }
+
+    private Set<Class<?>> getEventTypes(Class<? extends Event> eventClass) {
+        return this.eventTypes.computeIfAbsent(eventClass, key -> {
+            ImmutableSet.Builder<Class<?>> types = ImmutableSet.builder();
+            for (Class<?> type : TypeToken.of(key).getTypes().rawTypes()) {
+                if (Event.class.isAssignableFrom(type)) {
+                    types.add(type);
+                }
+            }
+            return types.build();
+        });
     }
 
     private static boolean isValidHandler(Method method) {
@@ -146,17 +213,31 @@ private void register(RegisteredListener<? extends Event> handler) {
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Map<Class<?>, List<RegisteredListener<?>>> added = Maps.newHashMap();
 
             for (RegisteredListener<?> handler : handlers) {
-                if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                List<RegisteredListener<?>> current = this.handlersByEvent.get(handler.getEventClass());
+                List<RegisteredListener<?>> classHandlers = added.computeIfAbsent(handler.getEventClass(), k -> Lists.newArrayList());
+                if ((current == null || !current.contains(handler)) && !classHandlers.contains(handler)) {
+                    classHandlers.add(handler);
                     this.checker.registerListenerFor(handler.getEventClass());
                 }
             }
+            added.values().removeIf(List::isEmpty);
+
+            if (!added.isEmpty()) {
+                Map<Class<?>, List<RegisteredListener<?>>> snapshot = Maps.newHashMap(this.handlersByEvent);
+                for (Map.Entry<Class<?>, List<RegisteredListener<?>>> entry : added.entrySet()) {
+                    List<RegisteredListener<?>> current = snapshot.get(entry.getKey());
+                    ImmutableList.Builder<RegisteredListener<?>> builder = ImmutableList.builder();
+                    if (current != null) {
+                        builder.addAll(current);
+                    }
+                    snapshot.put(entry.getKey(), builder.addAll(entry.getValue()).build());
+                }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+                this.handlersByEvent = ImmutableMap.copyOf(snapshot);
+                this.handlersVersion++;
             }
         }
     }
@@ -178,14 +259,14 @@ private void disableFields(Collection<RegisteredListener<? extends Event>> handl
 
     // Override in SpongeModEventManager
     protected boolean hasAnyListeners(Class<? extends Event> clazz) {
-        return !this.handlersCache.get(clazz).getListeners().isEmpty();
+        return !getHandlerCache(clazz).getListeners().isEmpty();
     }
 
     public void registerListener(PluginContainer plugin, Object listenerObject) {
         checkNotNull(plugin, "plugin");
         checkNotNull(listenerObject, "listener");
 
-        if (this.registeredListeners.contains(listenerObject)) {
+        if (!this.registeredListeners.add(listenerObject)) {
             SpongeImpl.getLogger().warn("Plugin {} attempted to register an already registered listener ({})", plugin.getId(),
                     listenerObject.getClass().getName());
             Thread.dumpStack();
@@ -217,7 +298,6 @@ public void registerListener(PluginContainer plugin, Object listenerObject) {
             }
         }
 
-        this.registeredListeners.add(listenerObject);
         register(handlers);
     }
 
@@ -260,20 +340,29 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
         synchronized (this.lock) {
-            boolean changed = false;
-
-            Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
-            while (itr.hasNext()) {
-                RegisteredListener<?> handler = itr.next();
-                if (unregister.test(handler)) {
-                    itr.remove();
-                    changed = true;
-                    this.checker.unregisterListenerFor(handler.getEventClass());
+            Set<Class<?>> changed = Sets.newHashSet();
+            ImmutableMap.Builder<Class<?>, List<RegisteredListener<?>>> snapshot = ImmutableMap.builder();
+
+            for (Map.Entry<Class<?>, List<RegisteredListener<?>>> entry : this.handlersByEvent.entrySet()) {
+                ImmutableList.Builder<RegisteredListener<?>> remaining = ImmutableList.builder();
+                boolean empty = true;
+                for (RegisteredListener<?> handler : entry.getValue()) {
+                    if (unregister.test(handler)) {
+                        changed.add(entry.getKey());
+                        this.checker.unregisterListenerFor(handler.getEventClass());
+                    } else {
+                        remaining.add(handler);
+                        empty = false;
+                    }
+                }
+                if (!empty) {
+                    snapshot.put(entry.getKey(), changed.contains(entry.getKey()) ? remaining.build() : entry.getValue());
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            if (!changed.isEmpty()) {
+                this.handlersByEvent = snapshot.build();
+                this.handlersVersion++;
             }
         }
     }
@@ -292,7 +381,7 @@ public void unregisterPluginListeners(Object pluginObj) {
     }
 
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.get(checkNotNull(event, "event").getClass());
+        return getHandlerCache(checkNotNull(event, "event").getClass());
     }
 
     @SuppressWarnings("unchecked")
@@ -317,7 +406,15 @@ protected static boolean post(Event event, List<RegisteredListener<?>> handlers)
 
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        RegisteredListener.Cache handlerCache = getHandlerCache(event);
+        if (!handlerCache.getListeners().isEmpty()) {
+            TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
+            handlerCache.getDispatcher().dispatch(event);
+            TimingsManager.PLUGIN_EVENT_HANDLER.stopTimingIfSync();
+            ((AbstractEvent) event).currentOrder = null;
+        }
+
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
     public boolean post(Event event, boolean allowClientThread) {
@@ -328,4 +425,27 @@ public boolean post(Event event, Order order) {
         return post(event, getHandlerCache(event).getListenersByOrder(order));
     }
 
+    private static final class BakedHandlers {
+
+        final RegisteredListener.Cache cache;
+        // The handler lists the cache was baked from, see getHandlerSources
+        private final List<List<RegisteredListener<?>>> sources;
+        // The handlersVersion the sources are known to be current for
+        volatile int version;
+
+        BakedHandlers(RegisteredListener.Cache cache, List<List<RegisteredListener<?>>> sources, int version) {
+            this.cache = cache;
+            this.sources = sources;
+            this.version = version;
+        }
+
+        boolean isCurrent(List<List<RegisteredListener<?>>> sources) {
+            for (int i = 0; i < sources.size(); i++) {
+                if (sources.get(i) != this.sources.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import co.aikar.timings.TimingsStatistics;
+import co.aikar.util.JSONUtil;
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the block tick phases which captured their block changes and the
+ * ones which applied them directly because nothing listens to
+ * {@link org.spongepowered.api.event.block.ChangeBlockEvent}, and reports
+ * them through {@link TimingsStatistics}.
+ */
+public final class BlockCaptureStatistics {
+
+    private static final LongAdder capturedPhases = new LongAdder();
+    private static final LongAdder elidedPhases = new LongAdder();
+
+    static {
+        TimingsStatistics.register("block-captures", BlockCaptureStatistics::export);
+    }
+
+    private BlockCaptureStatistics() {
+    }
+
+    public static void onPhaseCaptured() {
+        capturedPhases.increment();
+    }
+
+    public static void onPhaseElided() {
+        elidedPhases.increment();
+    }
+
+    private static JsonObject export() {
+        return JSONUtil.objectBuilder()
+                .add("captured", capturedPhases.sum())
+                .add("elided", elidedPhases.sum())
+                .build();
+    }
+}
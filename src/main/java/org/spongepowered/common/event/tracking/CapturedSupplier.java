@@ -48,6 +48,10 @@ public final List<T> get() {
         return this.captured;
     }
 
+    final void reset() {
+        this.captured = null;
+    }
+
     public final boolean isEmpty() {
         return this.captured == null || this.captured.isEmpty();
     }
@@ -85,7 +85,12 @@ private CauseStack push(PhaseData tuple) {
     }
 
     CauseStack push(IPhaseState state, PhaseContext context) {
-        return push(new PhaseData(context, state));
+        PhaseData data = context.phaseData;
+        if (data == null || data.state != state) {
+            data = new PhaseData(context, state);
+            context.phaseData = data;
+        }
+        return push(data);
     }
 
     public void forEach(Consumer<PhaseData> consumer) {
@@ -102,6 +102,7 @@ public final class CauseTracker {
     private final WorldServer targetWorld;
 
     private final CauseStack stack = new CauseStack();
+    private final PhaseContextPool contextPool = new PhaseContextPool();
 
     @Nullable private PhaseData currentProcessingState = null;
 
@@ -118,6 +119,17 @@ public CauseTracker(WorldServer targetWorld) {
 
     // ----------------- STATE ACCESS ----------------------------------
 
+    /**
+     * Gets a {@link PhaseContext} reused from this tracker's pool. The context
+     * is returned to the pool when its phase is completed, so it must not
+     * be referenced after {@link #completePhase()}.
+     *
+     * @return A pooled phase context
+     */
+    public PhaseContext startPooledContext() {
+        return this.contextPool.acquire();
+    }
+
     public void switchToPhase(IPhaseState state, PhaseContext phaseContext) {
         checkNotNull(state, "State cannot be null!");
         checkNotNull(state.getPhase(), "Phase cannot be null!");
@@ -173,6 +185,9 @@ public void abortCurrentPhase(Exception e) {
         // Therefore, we skip running the normal unwind functions that completePhase calls,
         // and simply op the phase from the stack.
         stack.pop();
+        if (data.context.pool != null) {
+            data.context.pool.release(data.context);
+        }
     }
 
     public void completePhase() {
@@ -219,7 +234,7 @@ public void completePhase() {
         try {
             if (state != GeneralPhase.Post.UNWINDING && phase.requiresPost(state)) {
                 // Note that UnwindingPhaseContext is required for something? I don't think it requires anything tbh.
-                switchToPhase(GeneralPhase.Post.UNWINDING, UnwindingPhaseContext.unwind(state, context)
+                switchToPhase(GeneralPhase.Post.UNWINDING, this.contextPool.acquireUnwinding(state, context)
                         .addCaptures()
                         .addEntityDropCaptures()
                         .complete());
@@ -229,6 +244,7 @@ public void completePhase() {
                 phase.unwind(this, state, context);
                 this.currentProcessingState = null;
             } catch (Exception e) {
+                this.currentProcessingState = null;
                 printMessageWithCaughtException("Exception Exiting Phase", "Something happened when trying to unwind", state, context, e);
             }
             if (state != GeneralPhase.Post.UNWINDING && phase.requiresPost(state)) {
@@ -241,6 +257,9 @@ public void completePhase() {
         } catch (Exception e) {
             printMessageWithCaughtException("Exception Post Dispatching Phase", "Something happened when trying to post dispatch state", state, context, e);
         }
+        if (context.pool != null) {
+            context.pool.release(context);
+        }
     }
 
     private void printRunawayPhase(IPhaseState state, PhaseContext context) {
@@ -325,6 +344,16 @@ public PhaseData getCurrentPhaseData() {
         return this.stack.peek();
     }
 
+    /**
+     * Gets whether the current state has the given capability.
+     *
+     * @param capability The bit of the capability, one of {@link PhaseCapabilities}
+     * @return True if the current state has the capability
+     */
+    public boolean hasCapability(int capability) {
+        return (this.stack.peek().capabilities & capability) != 0;
+    }
+
     public IPhaseState getCurrentState() {
         return this.stack.peekState();
     }
@@ -449,6 +478,10 @@ public boolean setBlockState(final BlockPos pos, final IBlockState newState, fin
         }
         else
         {
+            // Sponge - track the notifier of block changes which were not captured
+            if (CauseTracker.ENABLED) {
+                phaseState.handleUncapturedBlockChange(this.getMinecraftWorld(), pos, iblockstate, phaseData.context);
+            }
             if (newState.getLightOpacity() != iblockstate.getLightOpacity() || newState.getLightValue() != iblockstate.getLightValue())
             {
                 minecraftWorld.theProfiler.startSection("checkLight");
@@ -32,6 +32,7 @@
 import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.event.tracking.phase.TrackingPhase;
+import org.spongepowered.common.event.tracking.phase.TrackingPhases;
 import org.spongepowered.common.event.tracking.phase.entity.EntityPhase;
 import org.spongepowered.common.world.BlockChange;
 
@@ -109,8 +110,29 @@ default void postTrackBlock(BlockSnapshot snapshot, CauseTracker tracker, PhaseC
 
     }
 
+    /**
+     * Called after a block change was applied directly, without being
+     * captured, so the state can still track the block notifiers the
+     * way {@link #handleBlockChangeWithUser} would have.
+     */
+    default void handleUncapturedBlockChange(WorldServer minecraftWorld, BlockPos pos, IBlockState originalState, PhaseContext context) {
+
+    }
+
 
     default boolean requiresBlockPosTracking() {
         return false;
     }
+
+    /**
+     * Gets whether requests for unloaded chunks made during this state may
+     * be denied instead of loading the chunk, when the world denies chunk
+     * requests.
+     *
+     * @return True if chunk requests can be denied
+     */
+    default boolean canDenyChunkRequests() {
+        final TrackingPhase phase = getPhase();
+        return phase == TrackingPhases.BLOCK || phase == TrackingPhases.ENTITY || phase == TrackingPhases.TICK;
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bits for the behaviours of an {@link IPhaseState} that are checked on hot
+ * paths. They are computed once per state and carried by the
+ * {@link PhaseData} of the state, so checking them against the current phase
+ * is a single bit test through {@link CauseTracker#hasCapability(int)}
+ * instead of comparing the state against lists of known states.
+ */
+public final class PhaseCapabilities {
+
+    public static final int CAN_DENY_CHUNK_REQUESTS = 1;
+    public static final int IGNORES_BLOCK_TRACKING = 1 << 1;
+    public static final int IGNORES_ENTITY_COLLISIONS = 1 << 2;
+    public static final int TRACKS_BLOCK_RESTORES = 1 << 3;
+    public static final int TRACKS_ENTITY_DEATHS = 1 << 4;
+    public static final int REQUIRES_BLOCK_POS_TRACKING = 1 << 5;
+    public static final int IS_INTERACTION = 1 << 6;
+
+    private static final ConcurrentHashMap<IPhaseState, Integer> capabilities = new ConcurrentHashMap<>();
+
+    private PhaseCapabilities() {
+    }
+
+    /**
+     * Gets the capabilities of the given state.
+     *
+     * @param state The state
+     * @return The capability bits of the state
+     */
+    public static int of(IPhaseState state) {
+        return capabilities.computeIfAbsent(state, PhaseCapabilities::compute);
+    }
+
+    private static int compute(IPhaseState state) {
+        int bits = 0;
+        if (state.canDenyChunkRequests()) {
+            bits |= CAN_DENY_CHUNK_REQUESTS;
+        }
+        if (state.ignoresBlockTracking()) {
+            bits |= IGNORES_BLOCK_TRACKING;
+        }
+        if (state.ignoresEntityCollisions()) {
+            bits |= IGNORES_ENTITY_COLLISIONS;
+        }
+        if (state.tracksBlockRestores()) {
+            bits |= TRACKS_BLOCK_RESTORES;
+        }
+        if (state.tracksEntityDeaths()) {
+            bits |= TRACKS_ENTITY_DEATHS;
+        }
+        if (state.requiresBlockPosTracking()) {
+            bits |= REQUIRES_BLOCK_POS_TRACKING;
+        }
+        if (state.isInteraction()) {
+            bits |= IS_INTERACTION;
+        }
+        return bits;
+    }
+}
@@ -74,10 +74,21 @@ public class PhaseContext {
     @Nullable private EntityItemEntityDropsSupplier entityItemEntityDropsSupplier;
     @Nullable private CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> blockEntitySpawnSupplier;
     @Nullable private CaptureBlockPos captureBlockPos;
+    @Nullable private CapturePlayer capturePlayer;
+    @Nullable private CaptureExplosion captureExplosion;
     @Nullable protected User owner;
     @Nullable protected User notifier;
 
     private Object source;
+    // Whether the source was set through source(Object), and is therefore not part of the context objects
+    private boolean unlistedSource;
+
+    // Only present for contexts owned by a PhaseContextPool
+    @Nullable final PhaseContextPool pool;
+    @Nullable private final PooledCaptures pooledCaptures;
+    boolean isReleased;
+    // The last data this context was pushed with, reused while the state stays the same
+    @Nullable PhaseData phaseData;
 
     public static PhaseContext start() {
         return new PhaseContext();
@@ -91,10 +102,26 @@ public PhaseContext add(@Nullable NamedCause namedCause) {
         this.contextObjects.add(namedCause);
         if (namedCause.getName().equals(NamedCause.SOURCE)) {
             this.source = namedCause.getCauseObject();
+            this.unlistedSource = false;
         }
         return this;
     }
 
+    /**
+     * Sets the source of this context, the same as adding
+     * {@link NamedCause#source(Object)} but without wrapping it.
+     *
+     * @param source The source
+     * @return This context, for chaining
+     */
+    public PhaseContext source(Object source) {
+        checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
+        checkState(this.source == null, "Source for this phase context is already set!");
+        this.source = checkNotNull(source, "Source cannot be null!");
+        this.unlistedSource = true;
+        return this;
+    }
+
     public PhaseContext owner(User owner) {
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         if (this.owner != null) {
@@ -127,26 +154,11 @@ public PhaseContext addBlockCaptures() {
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         this.checkBlockSuppliers();
 
-        CapturedBlocksSupplier blocksSupplier = new CapturedBlocksSupplier();
-        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCKS, blocksSupplier));
-        this.blocksSupplier = blocksSupplier;
-        BlockItemEntityDropsSupplier blockItemEntityDropsSupplier = new BlockItemEntityDropsSupplier();
-        // unused, to be removed and re-located when phase context is cleaned up
-        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ITEM_DROPS, blockItemEntityDropsSupplier));
-        this.blockItemEntityDropsSupplier = blockItemEntityDropsSupplier;
-        BlockItemDropsSupplier blockItemDropsSupplier = new BlockItemDropsSupplier();
-        // unused, to be removed and re-located when phase context is cleaned up
-        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_DROPS, blockItemDropsSupplier));
-        this.blockItemDropsSupplier = blockItemDropsSupplier;
-        CapturedBlockEntitySpawnSupplier capturedBlockEntitySpawnSupplier = new CapturedBlockEntitySpawnSupplier();
-        // unused, to be removed and re-located when phase context is cleaned up
-        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ENTITY_SPAWNS, capturedBlockEntitySpawnSupplier));
-        this.blockEntitySpawnSupplier = capturedBlockEntitySpawnSupplier;
-
-        CaptureBlockPos blockPos = new CaptureBlockPos();
+        final PooledCaptures pooled = this.pooledCaptures;
+        this.addBlockSuppliers(pooled);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause
-        this.captureBlockPos = blockPos;
+        this.captureBlockPos = pooled != null ? pooled.blockPos : new CaptureBlockPos();
         return this;
     }
 
@@ -157,33 +169,9 @@ public PhaseContext addCaptures() {
         checkState(this.capturedEntitiesSupplier == null, "CapturedEntitiesSupplier is already set!");
         checkState(this.capturedItemStackSupplier == null, "CapturedItemStackSupplier is already set!");
 
-        CapturedBlocksSupplier blocksSupplier = new CapturedBlocksSupplier();
-        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCKS, blocksSupplier));
-        this.blocksSupplier = blocksSupplier;
-        BlockItemEntityDropsSupplier blockItemEntityDropsSupplier = new BlockItemEntityDropsSupplier();
-        // unused, to be removed and re-located when phase context is cleaned up
-        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ITEM_DROPS, blockItemEntityDropsSupplier));
-        this.blockItemEntityDropsSupplier = blockItemEntityDropsSupplier;
-        BlockItemDropsSupplier blockItemDropsSupplier = new BlockItemDropsSupplier();
-        // unused, to be removed and re-located when phase context is cleaned up
-        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_DROPS, blockItemDropsSupplier));
-        this.blockItemDropsSupplier = blockItemDropsSupplier;
-        CapturedItemsSupplier capturedItemsSupplier = new CapturedItemsSupplier();
-        // unused, to be removed and re-located when phase context is cleaned up
-        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ITEMS, capturedItemsSupplier));
-        this.capturedItemsSupplier = capturedItemsSupplier;
-        CapturedEntitiesSupplier capturedEntitiesSupplier = new CapturedEntitiesSupplier();
-        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITIES, capturedEntitiesSupplier));
-        this.capturedEntitiesSupplier = capturedEntitiesSupplier;
-        CapturedItemStackSupplier capturedItemStackSupplier = new CapturedItemStackSupplier();
-        // unused, to be removed and re-located when phase context is cleaned up
-        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ITEM_STACKS, capturedItemStackSupplier));
-        this.capturedItemStackSupplier = capturedItemStackSupplier;
-
-        CapturedBlockEntitySpawnSupplier capturedBlockEntitySpawnSupplier = new CapturedBlockEntitySpawnSupplier();
-        // unused, to be removed and re-located when phase context is cleaned up
-        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ENTITY_SPAWNS, capturedBlockEntitySpawnSupplier));
-        this.blockEntitySpawnSupplier = capturedBlockEntitySpawnSupplier;
+        final PooledCaptures pooled = this.pooledCaptures;
+        this.addBlockSuppliers(pooled);
+        this.addEntitySuppliers(pooled);
         return this;
     }
 
@@ -193,18 +181,45 @@ public PhaseContext addEntityCaptures() {
         checkState(this.capturedEntitiesSupplier == null, "CapturedEntitiesSupplier is already set!");
         checkState(this.capturedItemStackSupplier == null, "CapturedItemStackSupplier is already set!");
 
-        CapturedItemsSupplier capturedItemsSupplier = new CapturedItemsSupplier();
+        this.addEntitySuppliers(this.pooledCaptures);
+        return this;
+    }
+
+    private void addBlockSuppliers(@Nullable PooledCaptures pooled) {
+        if (pooled != null) {
+            this.contextObjects.add(pooled.blocksCause);
+            this.blocksSupplier = pooled.blocks;
+        } else {
+            CapturedBlocksSupplier blocksSupplier = new CapturedBlocksSupplier();
+            this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCKS, blocksSupplier));
+            this.blocksSupplier = blocksSupplier;
+        }
+        // unused, to be removed and re-located when phase context is cleaned up
+        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ITEM_DROPS, blockItemEntityDropsSupplier));
+        this.blockItemEntityDropsSupplier = pooled != null ? pooled.blockItemEntityDrops : new BlockItemEntityDropsSupplier();
+        // unused, to be removed and re-located when phase context is cleaned up
+        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_DROPS, blockItemDropsSupplier));
+        this.blockItemDropsSupplier = pooled != null ? pooled.blockItemDrops : new BlockItemDropsSupplier();
+        // unused, to be removed and re-located when phase context is cleaned up
+        //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ENTITY_SPAWNS, capturedBlockEntitySpawnSupplier));
+        this.blockEntitySpawnSupplier = pooled != null ? pooled.blockEntitySpawns : new CapturedBlockEntitySpawnSupplier();
+    }
+
+    private void addEntitySuppliers(@Nullable PooledCaptures pooled) {
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ITEMS, capturedItemsSupplier));
-        this.capturedItemsSupplier = capturedItemsSupplier;
-        CapturedEntitiesSupplier capturedEntitiesSupplier = new CapturedEntitiesSupplier();
-        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITIES, capturedEntitiesSupplier));
-        this.capturedEntitiesSupplier = capturedEntitiesSupplier;
-        CapturedItemStackSupplier capturedItemStackSupplier = new CapturedItemStackSupplier();
+        this.capturedItemsSupplier = pooled != null ? pooled.items : new CapturedItemsSupplier();
+        if (pooled != null) {
+            this.contextObjects.add(pooled.entitiesCause);
+            this.capturedEntitiesSupplier = pooled.entities;
+        } else {
+            CapturedEntitiesSupplier capturedEntitiesSupplier = new CapturedEntitiesSupplier();
+            this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITIES, capturedEntitiesSupplier));
+            this.capturedEntitiesSupplier = capturedEntitiesSupplier;
+        }
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ITEM_STACKS, capturedItemStackSupplier));
-        this.capturedItemStackSupplier = capturedItemStackSupplier;
-        return this;
+        this.capturedItemStackSupplier = pooled != null ? pooled.itemStacks : new CapturedItemStackSupplier();
     }
 
     public PhaseContext addEntityDropCaptures() {
@@ -212,42 +227,54 @@ public PhaseContext addEntityDropCaptures() {
         checkState(this.entityItemDropsSupplier == null, "EntityItemDropsSupplier is already set!");
         checkState(this.entityItemEntityDropsSupplier == null, "EntityItemEntityDropsSupplier is already set!");
 
-        EntityItemDropsSupplier entityItemDropsSupplier = new EntityItemDropsSupplier();
+        final PooledCaptures pooled = this.pooledCaptures;
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITY_STACK_DROPS, entityItemDropsSupplier));
-        this.entityItemDropsSupplier = entityItemDropsSupplier;
-        EntityItemEntityDropsSupplier entityItemEntityDropsSupplier = new EntityItemEntityDropsSupplier();
+        this.entityItemDropsSupplier = pooled != null ? pooled.entityItemDrops : new EntityItemDropsSupplier();
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITY_ITEM_DROPS, entityItemEntityDropsSupplier));
-        this.entityItemEntityDropsSupplier = entityItemEntityDropsSupplier;
+        this.entityItemEntityDropsSupplier = pooled != null ? pooled.entityItemEntityDrops : new EntityItemEntityDropsSupplier();
         return this;
     }
 
     public PhaseContext player() {
-        checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
-        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_PLAYER, new CapturePlayer()));
-        return this;
+        return this.player(new CapturePlayer());
     }
 
     public PhaseContext player(@Nullable Player player) {
+        return this.player(new CapturePlayer(player));
+    }
+
+    private PhaseContext player(CapturePlayer capturePlayer) {
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
-        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_PLAYER, new CapturePlayer(player)));
+        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_PLAYER, capturePlayer));
+        if (this.capturePlayer == null) {
+            this.capturePlayer = capturePlayer;
+        }
         return this;
     }
 
     public PhaseContext explosion() {
-        checkState(!this.isCompleted, "CAnnot add a new object to the context if it's already marked as completed!");
-        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_EXPLOSION, new CaptureExplosion()));
-        return this;
+        return this.explosion(new CaptureExplosion());
     }
 
     public PhaseContext explosion(@Nullable Explosion explosion) {
+        return this.explosion(new CaptureExplosion(explosion));
+    }
+
+    private PhaseContext explosion(CaptureExplosion captureExplosion) {
         checkState(!this.isCompleted, "CAnnot add a new object to the context if it's already marked as completed!");
-        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_EXPLOSION, new CaptureExplosion(explosion)));
+        this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_EXPLOSION, captureExplosion));
+        if (this.captureExplosion == null) {
+            this.captureExplosion = captureExplosion;
+        }
         return this;
     }
 
     public CaptureExplosion getCaptureExplosion() {
+        if (this.captureExplosion != null) {
+            return this.captureExplosion;
+        }
         return this.firstNamed(InternalNamedCauses.Tracker.CAPTURED_EXPLOSION, CaptureExplosion.class)
                 .orElseThrow(
                         TrackingUtil.throwWithContext("Expected to be capturing an Explosion, but we're not capturing them!", this));
@@ -277,6 +304,9 @@ public <T> Optional<T> first(Class<T> tClass) {
                 return Optional.of((T) this.cachedObject);
             }
         }
+        if (this.unlistedSource && tClass.isInstance(this.source)) {
+            return Optional.of((T) this.source);
+        }
         for (NamedCause cause : this.contextObjects) {
             if (tClass.isInstance(cause.getCauseObject())) {
                 Object causeObject = cause.getCauseObject();
@@ -296,6 +326,9 @@ public <T> Optional<T> firstNamed(String name, Class<T> tClass) {
                 return Optional.of((T) this.cachedObject);
             }
         }
+        if (this.unlistedSource && NamedCause.SOURCE.equalsIgnoreCase(name) && tClass.isInstance(this.source)) {
+            return Optional.of((T) this.source);
+        }
         for (NamedCause cause : this.contextObjects) {
             if (cause.getName().equalsIgnoreCase(name) && tClass.isInstance(cause.getCauseObject())) {
                 this.cachedObject = cause.getCauseObject();
@@ -318,6 +351,17 @@ public <T> Optional<T> getSource(Class<T> sourceClass) {
         return Optional.empty();
     }
 
+    /**
+     * Gets the source of this context without wrapping it, for checks which
+     * test the source against several types.
+     *
+     * @return The source, or null if no source is set
+     */
+    @Nullable
+    public Object getSourceObject() {
+        return this.source;
+    }
+
     public Optional<User> getOwner() {
         return Optional.ofNullable(this.owner);
     }
@@ -328,6 +372,9 @@ public Optional<User> getNotifier() {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     public List<Entity> getCapturedEntities() throws IllegalStateException {
+        if (this.capturedEntitiesSupplier != null) {
+            return this.capturedEntitiesSupplier.get();
+        }
         return firstNamed(InternalNamedCauses.Tracker.CAPTURED_ENTITIES, CapturedEntitiesSupplier.class)
                 .map(CapturedEntitiesSupplier::get)
                 .orElseThrow(TrackingUtil.throwWithContext("Intended to capture entity spawns!", this));
@@ -359,6 +406,9 @@ public CapturedSupplier<EntityItem> getCapturedItemsSupplier() throws IllegalSta
 
     @SuppressWarnings("unchecked")
     public List<BlockSnapshot> getCapturedBlocks() throws IllegalStateException {
+        if (this.blocksSupplier != null) {
+            return this.blocksSupplier.get();
+        }
         return firstNamed(InternalNamedCauses.Tracker.CAPTURED_BLOCKS, CapturedBlocksSupplier.class)
                 .map(CapturedBlocksSupplier::get)
                 .orElseThrow(TrackingUtil.throwWithContext("Intended to capture block changes, but there is no list available!", this));
@@ -439,28 +489,71 @@ public Optional<BlockPos> getBlockPosition() {
     }
 
     public CapturePlayer getCapturedPlayerSupplier() throws IllegalStateException {
+        if (this.capturePlayer != null) {
+            return this.capturePlayer;
+        }
         return this.firstNamed(InternalNamedCauses.Tracker.CAPTURED_PLAYER, CapturePlayer.class)
                 .orElseThrow(
                         TrackingUtil.throwWithContext("Expected to be capturing a Player from an event listener, but we're not capturing them!", this));
     }
 
     public Optional<Player> getCapturedPlayer() throws IllegalStateException {
-        return this.firstNamed(InternalNamedCauses.Tracker.CAPTURED_PLAYER, CapturePlayer.class)
-                .orElseThrow(
-                        TrackingUtil.throwWithContext("Expected to be capturing a Player from an event listener, but we're not capturing them!", this))
-                .getPlayer();
+        return this.getCapturedPlayerSupplier().getPlayer();
     }
 
     public void forEach(Consumer<NamedCause> consumer) {
+        if (this.unlistedSource) {
+            consumer.accept(NamedCause.source(this.source));
+        }
         this.contextObjects.forEach(consumer);
     }
 
     PhaseContext() {
+        this.pool = null;
+        this.pooledCaptures = null;
+    }
+
+    PhaseContext(PhaseContextPool pool) {
+        this.pool = pool;
+        this.pooledCaptures = new PooledCaptures();
+    }
+
+    /**
+     * Clears this context so it can be handed out again by its pool. Captured
+     * lists are dropped rather than cleared, as they may still be referenced
+     * by events which were thrown while unwinding.
+     */
+    void reset() {
+        this.isCompleted = false;
+        this.contextObjects.clear();
+        this.cause = null;
+        this.blocksSupplier = null;
+        this.blockItemDropsSupplier = null;
+        this.blockItemEntityDropsSupplier = null;
+        this.capturedItemsSupplier = null;
+        this.capturedEntitiesSupplier = null;
+        this.capturedItemStackSupplier = null;
+        this.entityItemDropsSupplier = null;
+        this.entityItemEntityDropsSupplier = null;
+        this.blockEntitySpawnSupplier = null;
+        this.captureBlockPos = null;
+        this.capturePlayer = null;
+        this.captureExplosion = null;
+        this.owner = null;
+        this.notifier = null;
+        this.source = null;
+        this.unlistedSource = false;
+        this.cachedClass = null;
+        this.cachedObject = null;
+        this.cachedName = null;
+        if (this.pooledCaptures != null) {
+            this.pooledCaptures.reset();
+        }
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.isCompleted, this.contextObjects, this.cause);
+        return Objects.hash(this.isCompleted, this.source, this.contextObjects, this.cause);
     }
 
     @Override
@@ -473,6 +566,7 @@ public boolean equals(@Nullable Object obj) {
         }
         final PhaseContext other = (PhaseContext) obj;
         return Objects.equals(this.isCompleted, other.isCompleted)
+               && Objects.equals(this.source, other.source)
                && Objects.equals(this.contextObjects, other.contextObjects)
                && Objects.equals(this.cause, other.cause);
     }
@@ -481,11 +575,45 @@ public boolean equals(@Nullable Object obj) {
     public String toString() {
         return com.google.common.base.Objects.toStringHelper(this)
                 .add("isCompleted", this.isCompleted)
+                .add("source", this.source)
                 .add("contextObjects", this.contextObjects)
                 .add("cause", this.cause)
                 .toString();
     }
 
+    /**
+     * The suppliers of a pooled context, created once and handed out again
+     * every time the context is reused.
+     */
+    private static final class PooledCaptures {
+
+        final CapturedBlocksSupplier blocks = new CapturedBlocksSupplier();
+        final NamedCause blocksCause = NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCKS, this.blocks);
+        final BlockItemDropsSupplier blockItemDrops = new BlockItemDropsSupplier();
+        final BlockItemEntityDropsSupplier blockItemEntityDrops = new BlockItemEntityDropsSupplier();
+        final CapturedBlockEntitySpawnSupplier blockEntitySpawns = new CapturedBlockEntitySpawnSupplier();
+        final CaptureBlockPos blockPos = new CaptureBlockPos();
+        final CapturedItemsSupplier items = new CapturedItemsSupplier();
+        final CapturedEntitiesSupplier entities = new CapturedEntitiesSupplier();
+        final NamedCause entitiesCause = NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITIES, this.entities);
+        final CapturedItemStackSupplier itemStacks = new CapturedItemStackSupplier();
+        final EntityItemDropsSupplier entityItemDrops = new EntityItemDropsSupplier();
+        final EntityItemEntityDropsSupplier entityItemEntityDrops = new EntityItemEntityDropsSupplier();
+
+        void reset() {
+            this.blocks.reset();
+            this.blockItemDrops.reset();
+            this.blockItemEntityDrops.reset();
+            this.blockEntitySpawns.reset();
+            this.blockPos.setPos(null);
+            this.items.reset();
+            this.entities.reset();
+            this.itemStacks.reset();
+            this.entityItemDrops.reset();
+            this.entityItemEntityDrops.reset();
+        }
+    }
+
     static class BlockItemDropsSupplier extends CapturedMultiMapSupplier<BlockPos, ItemDropData> {
 
         BlockItemDropsSupplier() {
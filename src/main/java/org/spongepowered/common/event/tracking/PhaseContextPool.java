@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayDeque;
+
+/**
+ * A pool of {@link PhaseContext}s owned by a single {@link CauseTracker},
+ * so that the phases entered for every ticking entity and tile entity
+ * reuse their contexts and capture suppliers instead of allocating them.
+ *
+ * <p>Contexts are returned to the pool when their phase is completed or
+ * aborted, and must not be referenced afterwards.</p>
+ */
+final class PhaseContextPool {
+
+    // Phases are rarely nested deeply, anything beyond this is left to the garbage collector
+    private static final int MAX_POOLED_CONTEXTS = 16;
+
+    private final ArrayDeque<PhaseContext> contexts = new ArrayDeque<>(MAX_POOLED_CONTEXTS);
+    private final ArrayDeque<UnwindingPhaseContext> unwindingContexts = new ArrayDeque<>(MAX_POOLED_CONTEXTS);
+
+    PhaseContext acquire() {
+        PhaseContext context = this.contexts.poll();
+        if (context == null) {
+            return new PhaseContext(this);
+        }
+        context.isReleased = false;
+        return context;
+    }
+
+    UnwindingPhaseContext acquireUnwinding(IPhaseState state, PhaseContext unwindingContext) {
+        UnwindingPhaseContext context = this.unwindingContexts.poll();
+        if (context == null) {
+            context = new UnwindingPhaseContext(this);
+        } else {
+            context.isReleased = false;
+        }
+        return context.unwinding(state, unwindingContext);
+    }
+
+    void release(PhaseContext context) {
+        checkArgument(context.pool == this, "Phase context does not belong to this pool!");
+        checkState(!context.isReleased, "Phase context was already released!");
+        context.isReleased = true;
+        context.reset();
+        if (context instanceof UnwindingPhaseContext) {
+            if (this.unwindingContexts.size() < MAX_POOLED_CONTEXTS) {
+                this.unwindingContexts.push((UnwindingPhaseContext) context);
+            }
+        } else if (this.contexts.size() < MAX_POOLED_CONTEXTS) {
+            this.contexts.push(context);
+        }
+    }
+
+    int size() {
+        return this.contexts.size() + this.unwindingContexts.size();
+    }
+
+}
@@ -32,10 +32,13 @@ public final class PhaseData {
 
     public final PhaseContext context;
     public final IPhaseState state;
+    // The PhaseCapabilities of the state
+    public final int capabilities;
 
     public PhaseData(PhaseContext context, IPhaseState state) {
         this.context = checkNotNull(context, "Context cannot be null!");
         this.state = checkNotNull(state, "State cannot be null!");
+        this.capabilities = PhaseCapabilities.of(state);
     }
 
     @Override
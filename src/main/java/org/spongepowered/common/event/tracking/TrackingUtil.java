@@ -135,8 +135,8 @@ public static void tickEntity(CauseTracker causeTracker, net.minecraft.entity.En
             // Don't tick entities in chunks queued for unload
             return;
         }
-        final PhaseContext phaseContext = PhaseContext.start()
-                .add(NamedCause.source(entityIn))
+        final PhaseContext phaseContext = causeTracker.startPooledContext()
+                .source(entityIn)
                 .addEntityCaptures()
                 .addBlockCaptures();
         final IMixinEntity mixinEntity = EntityUtil.toMixin(entityIn);
@@ -162,8 +162,8 @@ public static void tickRidingEntity(CauseTracker causeTracker, net.minecraft.ent
             // Don't tick entity in chunks queued for unload
             return;
         }
-        final PhaseContext phaseContext = PhaseContext.start()
-                .add(NamedCause.source(entity))
+        final PhaseContext phaseContext = causeTracker.startPooledContext()
+                .source(entity)
                 .addEntityCaptures()
                 .addBlockCaptures();
         final IMixinEntity mixinEntity = EntityUtil.toMixin(entity);
@@ -191,8 +191,8 @@ public static void tickTileEntity(CauseTracker causeTracker, ITickable tile) {
             // Don't tick TE's in chunks queued for unload
             return;
         }
-        final PhaseContext phaseContext = PhaseContext.start()
-                .add(NamedCause.source(tile))
+        final PhaseContext phaseContext = causeTracker.startPooledContext()
+                .source(tile)
                 .addEntityCaptures()
                 .addBlockCaptures();
 
@@ -243,7 +243,7 @@ public static void updateTickBlock(CauseTracker causeTracker, Block block, Block
         final IPhaseState currentState = current.state;
         currentState.getPhase().appendNotifierPreBlockTick(causeTracker, pos, currentState, current.context, phaseContext);
         // Now actually switch to the new phase
-        if (((IMixinBlock) block).requiresBlockCapture()) {
+        if (capturesBlockTickChanges(block)) {
             causeTracker.switchToPhase(TickPhase.Tick.BLOCK, phaseContext.complete());
         } else {
             causeTracker.switchToPhase(TickPhase.Tick.NO_CAPTURE_BLOCK, phaseContext.complete());
@@ -281,7 +281,7 @@ public static void randomTickBlock(CauseTracker causeTracker, Block block, Block
         final IPhaseState currentState = current.state;
         currentState.getPhase().appendNotifierPreBlockTick(causeTracker, pos, currentState, current.context, phaseContext);
         // Now actually switch to the new phase
-        if (((IMixinBlock) block).requiresBlockCapture()) {
+        if (capturesBlockTickChanges(block)) {
             causeTracker.switchToPhase(TickPhase.Tick.RANDOM_BLOCK, phaseContext.complete());
         } else {
             causeTracker.switchToPhase(TickPhase.Tick.NO_CAPTURE_BLOCK, phaseContext.complete());
@@ -290,6 +290,28 @@ public static void randomTickBlock(CauseTracker causeTracker, Block block, Block
         causeTracker.completePhase();
     }
 
+    /**
+     * Gets whether the block changes of a block tick need to be captured.
+     * Without {@link ChangeBlockEvent} listeners nothing can observe or cancel
+     * them, so they are applied directly and only the block notifiers are
+     * tracked. This is checked whenever a block tick starts, so changes are
+     * captured again as soon as a listener is registered.
+     *
+     * @param block The ticking block
+     * @return True if the changes need to be captured
+     */
+    private static boolean capturesBlockTickChanges(Block block) {
+        if (!((IMixinBlock) block).requiresBlockCapture()) {
+            return false;
+        }
+        if (!ShouldFire.CHANGE_BLOCK_EVENT) {
+            BlockCaptureStatistics.onPhaseElided();
+            return false;
+        }
+        BlockCaptureStatistics.onPhaseCaptured();
+        return true;
+    }
+
     private static void checkAndAssignBlockTickConfig(Block block, WorldServer minecraftWorld, PhaseContext phaseContext) {
         if (block instanceof IModData_BlockCapturing) {
             IModData_BlockCapturing capturingBlock = (IModData_BlockCapturing) block;
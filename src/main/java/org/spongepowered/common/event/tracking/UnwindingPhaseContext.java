@@ -29,6 +29,7 @@
 import org.spongepowered.common.event.InternalNamedCauses;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 final class UnwindingPhaseContext extends PhaseContext {
 
@@ -40,12 +41,35 @@ static PhaseContext unwind(IPhaseState state, PhaseContext context) {
     private IPhaseState unwindingState;
 
     UnwindingPhaseContext(IPhaseState unwindingState, PhaseContext unwindingContext) {
-        add(NamedCause.of(InternalNamedCauses.Tracker.UNWINDING_CONTEXT, unwindingContext));
-        add(NamedCause.of(InternalNamedCauses.Tracker.UNWINDING_STATE, unwindingState));
         this.unwindingContext = unwindingContext;
         this.unwindingState = unwindingState;
     }
 
+    UnwindingPhaseContext(PhaseContextPool pool) {
+        super(pool);
+    }
+
+    UnwindingPhaseContext unwinding(IPhaseState unwindingState, PhaseContext unwindingContext) {
+        this.unwindingContext = unwindingContext;
+        this.unwindingState = unwindingState;
+        return this;
+    }
+
+    @Override
+    void reset() {
+        super.reset();
+        this.unwindingContext = null;
+        this.unwindingState = null;
+    }
+
+    @Override
+    public void forEach(Consumer<NamedCause> consumer) {
+        // The unwound context and state are kept as fields, so they are only wrapped when printing
+        consumer.accept(NamedCause.of(InternalNamedCauses.Tracker.UNWINDING_CONTEXT, this.unwindingContext));
+        consumer.accept(NamedCause.of(InternalNamedCauses.Tracker.UNWINDING_STATE, this.unwindingState));
+        super.forEach(consumer);
+    }
+
     @Override
     public Optional<User> getOwner() {
         return this.unwindingContext.getOwner();
@@ -38,6 +38,11 @@ final class ChangingToDimensionState extends EntityPhaseState {
     ChangingToDimensionState() {
     }
 
+    @Override
+    public boolean canDenyChunkRequests() {
+        return false;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     void unwind(CauseTracker causeTracker, PhaseContext context) {
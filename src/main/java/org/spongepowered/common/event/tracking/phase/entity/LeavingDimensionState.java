@@ -29,4 +29,9 @@ final class LeavingDimensionState extends EntityPhaseState {
     LeavingDimensionState() {
     }
 
+    @Override
+    public boolean canDenyChunkRequests() {
+        return false;
+    }
+
 }
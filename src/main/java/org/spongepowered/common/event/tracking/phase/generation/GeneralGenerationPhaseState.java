@@ -77,6 +77,11 @@ public final TrackingPhase getPhase() {
         return TrackingPhases.GENERATION;
     }
 
+    @Override
+    public boolean canDenyChunkRequests() {
+        return this == GenerationPhase.State.WORLD_SPAWNER_SPAWNING;
+    }
+
     @Override
     public final boolean canSwitchTo(IPhaseState state) {
         return this.compatibleStates.contains(state);
@@ -47,6 +47,11 @@ final class PreWorldTickListenerState extends ListenerPhaseState {
     PreWorldTickListenerState() {
     }
 
+    @Override
+    public boolean canDenyChunkRequests() {
+        return true;
+    }
+
     @Override
     public void associateAdditionalBlockChangeCauses(PhaseContext context, Cause.Builder builder, CauseTracker causeTracker) {
         context.getCapturedPlayer().ifPresent(player -> builder.named(NamedCause.notifier(player)));
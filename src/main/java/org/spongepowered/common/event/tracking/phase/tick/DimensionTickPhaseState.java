@@ -48,6 +48,11 @@ class DimensionTickPhaseState extends TickPhaseState {
     DimensionTickPhaseState() {
     }
 
+    @Override
+    public boolean canDenyChunkRequests() {
+        return false;
+    }
+
     @Override
     public boolean canSwitchTo(IPhaseState state) {
         return super.canSwitchTo(state) || state.getPhase() == TrackingPhases.DRAGON;
@@ -25,6 +25,7 @@
 package org.spongepowered.common.event.tracking.phase.tick;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.WorldServer;
 import org.spongepowered.api.block.BlockSnapshot;
@@ -69,11 +70,20 @@ public void associateNeighborBlockNotifier(PhaseContext context, @Nullable Block
 
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, WorldServer minecraftWorld, Transaction<BlockSnapshot> snapshotTransaction, PhaseContext context) {
-        final Location<World> location = getLocatableBlockSourceFromContext(context).getLocation();
         final Block block = (Block) snapshotTransaction.getOriginal().getState().getType();
         final Location<World> changedLocation = snapshotTransaction.getOriginal().getLocation().get();
         final BlockPos changedBlockPos = ((IMixinLocation)(Object) changedLocation).getBlockPos();
-        final IMixinChunk changedMixinChunk = (IMixinChunk) ((WorldServer) changedLocation.getExtent()).getChunkFromBlockCoords(changedBlockPos);
+        this.associateChangedBlockNotifier((WorldServer) changedLocation.getExtent(), block, changedBlockPos, context);
+    }
+
+    @Override
+    public void handleUncapturedBlockChange(WorldServer minecraftWorld, BlockPos pos, IBlockState originalState, PhaseContext context) {
+        this.associateChangedBlockNotifier(minecraftWorld, originalState.getBlock(), pos, context);
+    }
+
+    private void associateChangedBlockNotifier(WorldServer minecraftWorld, Block block, BlockPos changedBlockPos, PhaseContext context) {
+        final Location<World> location = getLocatableBlockSourceFromContext(context).getLocation();
+        final IMixinChunk changedMixinChunk = (IMixinChunk) minecraftWorld.getChunkFromBlockCoords(changedBlockPos);
         final User user = context.getNotifier().orElse(TrackingUtil.getNotifierOrOwnerFromBlock(location));
         if (user != null) {
             changedMixinChunk.addTrackedBlockPosition(block, changedBlockPos, user, PlayerTracker.Type.NOTIFIER);
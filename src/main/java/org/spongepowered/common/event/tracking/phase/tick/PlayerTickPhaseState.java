@@ -49,6 +49,11 @@ class PlayerTickPhaseState extends TickPhaseState {
     PlayerTickPhaseState() {
     }
 
+    @Override
+    public boolean canDenyChunkRequests() {
+        return false;
+    }
+
     @Override
     public void associateBlockEventNotifier(PhaseContext context, CauseTracker causeTracker, BlockPos pos, IMixinBlockEventData blockEvent) {
         blockEvent.setSourceUser(context.getSource(Player.class).get());
@@ -24,10 +24,15 @@
  */
 package org.spongepowered.common.interfaces.world;
 
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
+import javax.annotation.Nullable;
+
 public interface IMixinAnvilChunkLoader {
 
     // Forge method
@@ -35,4 +40,28 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Reads, inflates and parses the data of the chunk at the given
+     * coordinates, including data still pending to be written. This does
+     * not touch the world and is safe to call from any thread.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The chunk data, or null if the chunk does not exist
+     * @throws IOException If the region file could not be read
+     */
+    @Nullable NBTTagCompound readChunkData(int x, int z) throws IOException;
+
+    /**
+     * Creates the chunk from data previously obtained through
+     * {@link #readChunkData(int, int)}. Must be called from the main thread.
+     *
+     * @param world The world
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param compound The chunk data
+     * @return The chunk, or null if the data is invalid
+     */
+    @Nullable Chunk readChunkFromData(World world, int x, int z, NBTTagCompound compound);
+
 }
@@ -26,8 +26,11 @@
 
 import javax.annotation.Nullable;
 
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.chunk.Chunk;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface IMixinChunkProviderServer {
 
     void setMaxChunkUnloads(int maxUnloads);
@@ -39,4 +42,32 @@ public interface IMixinChunkProviderServer {
     @Nullable Chunk getLoadedChunkWithoutMarkingActive(int x, int z);
 
     long getChunkUnloadDelay();
+
+    /**
+     * Loads the chunk at the given coordinates. If asynchronous chunk loading
+     * is enabled for the world, the chunk data is read off the main thread and
+     * the returned future is completed on the main thread once the chunk has
+     * been added to the world, otherwise the chunk is loaded immediately.
+     *
+     * <p>Must be called from the main thread.</p>
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param generate Whether to generate the chunk if it does not exist
+     * @return The future chunk, completed with null if the chunk does not
+     *     exist and was not generated
+     */
+    CompletableFuture<Chunk> loadChunkAsync(int x, int z, boolean generate);
+
+    /**
+     * Finishes a chunk load from data read off the main thread by adding the
+     * chunk to the world and populating it.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param compound The chunk data, or null if the chunk does not exist
+     * @param generate Whether to generate the chunk if it does not exist
+     * @return The chunk, or null if it does not exist and was not generated
+     */
+    @Nullable Chunk completeChunkLoad(int x, int z, @Nullable NBTTagCompound compound, boolean generate);
 }
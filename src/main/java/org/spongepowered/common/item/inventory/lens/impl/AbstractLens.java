@@ -27,6 +27,8 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
@@ -40,12 +42,14 @@
 import org.spongepowered.common.item.inventory.lens.Fabric;
 import org.spongepowered.common.item.inventory.lens.InvalidLensDefinitionException;
 import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.MutableLensSet;
 import org.spongepowered.common.item.inventory.lens.MutableLensCollection;
 import org.spongepowered.common.item.inventory.lens.SlotProvider;
 import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensCollectionImpl;
 import org.spongepowered.common.item.inventory.lens.impl.struct.LensHandle;
 import org.spongepowered.common.item.inventory.observer.InventoryEventArgs;
 import org.spongepowered.common.item.inventory.observer.InventoryEventArgs.Type;
+import org.spongepowered.common.item.inventory.query.QueryStrategy;
 import org.spongepowered.common.util.observer.Observer;
 
 import java.lang.reflect.Constructor;
@@ -76,6 +80,8 @@
     
     private int maxOrdinal = 0;
     
+    private Cache<QueryStrategy<?, ?, ?>, MutableLensSet<TInventory, TStack>> structuralMatches;
+    
     public AbstractLens(int base, int size, InventoryAdapter<TInventory, TStack> adapter, SlotProvider<TInventory, TStack> slots) {
         this(base, size, checkNotNull(adapter, "adapter"), adapter.getClass(), slots);
     }
@@ -169,6 +175,23 @@ public Lens<TInventory, TStack> getParent() {
         return this.parent;
     }
     
+    /**
+     * Gets the matches of structural query strategies below this lens, which
+     * only depend on the lens tree. The cache is created on first use and is
+     * collected together with this lens.
+     * 
+     * @return cache of matches by strategy
+     */
+    public synchronized Cache<QueryStrategy<?, ?, ?>, MutableLensSet<TInventory, TStack>> getStructuralMatches() {
+        if (this.structuralMatches == null) {
+            this.structuralMatches = CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .maximumSize(16)
+                    .build();
+        }
+        return this.structuralMatches;
+    }
+    
     @Override
     public IntSet getSlots() {
         return IntSets.unmodifiable(this.availableSlots);
@@ -26,7 +26,11 @@
 
 import static com.google.common.base.Preconditions.*;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import org.spongepowered.api.item.ItemType;
@@ -39,6 +43,7 @@
 import org.spongepowered.common.item.inventory.lens.Fabric;
 import org.spongepowered.common.item.inventory.lens.Lens;
 import org.spongepowered.common.item.inventory.lens.MutableLensSet;
+import org.spongepowered.common.item.inventory.lens.impl.AbstractLens;
 import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensSetImpl;
 import org.spongepowered.common.item.inventory.query.result.MinecraftResultAdapterProvider;
 import org.spongepowered.common.item.inventory.query.result.QueryResult;
@@ -54,6 +59,7 @@
 import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 public class Query<TInventory, TStack> {
 
@@ -94,8 +100,17 @@ public String getKey() {
 
     }
 
-    private static final Map<String, Class<? extends QueryStrategy<?, ?, ?>>> strategies
-            = Maps.<String, Class<? extends QueryStrategy<?, ?, ?>>>newHashMap();
+    private static final Map<String, Constructor<? extends QueryStrategy<?, ?, ?>>> strategies
+            = Maps.<String, Constructor<? extends QueryStrategy<?, ?, ?>>>newHashMap();
+
+    /**
+     * Strategies compiled for arguments with value semantics, keyed by the
+     * strategy key followed by the arguments. Compiled strategies are
+     * immutable and shared between queries.
+     */
+    private static final Cache<ImmutableList<Object>, QueryStrategy<?, ?, ?>> compiledStrategies = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
 
     private static ResultAdapterProvider<?, ?> defaultResultProvider;
 
@@ -129,9 +144,31 @@ public Inventory execute(ResultAdapterProvider<TInventory, TStack> resultProvide
             return this.lens.getAdapter(this.inventory, null);
         }
 
+        if (this.strategy.isStructural()) {
+            return this.toResult(resultProvider, this.getStructuralMatches());
+        }
+
         return this.toResult(resultProvider, this.depthFirstSearch(this.lens));
     }
 
+    private MutableLensSet<TInventory, TStack> getStructuralMatches() {
+        // The matches are cached on the root lens, so they never outlive it
+        if (!(this.lens instanceof AbstractLens)) {
+            return this.depthFirstSearch(this.lens);
+        }
+        final Cache<QueryStrategy<?, ?, ?>, MutableLensSet<TInventory, TStack>> matchesByStrategy =
+                ((AbstractLens<TInventory, TStack>) this.lens).getStructuralMatches();
+        MutableLensSet<TInventory, TStack> cached = matchesByStrategy.getIfPresent(this.strategy);
+        if (cached == null) {
+            cached = this.depthFirstSearch(this.lens);
+            matchesByStrategy.put(this.strategy, cached);
+        }
+        // The result may hold on to the matches, so it gets its own copy
+        MutableLensSet<TInventory, TStack> matches = new MutableLensSetImpl<TInventory, TStack>(true);
+        matches.addAll(cached);
+        return matches;
+    }
+
     @SuppressWarnings("unchecked")
     private Inventory toResult(ResultAdapterProvider<TInventory, TStack> resultProvider, MutableLensSet<TInventory, TStack> matches) {
         if (matches.size() == 0) {
@@ -208,12 +245,12 @@ private IntSet getSlots(Collection<Lens<TInventory, TStack>> lenses) {
     }
 
     public static <TInventory, TStack> Query<TInventory, TStack> compile(InventoryAdapter<TInventory, TStack> adapter, Class<?>... types) {
-        QueryStrategy<TInventory, TStack, Class<?>> strategy = Query.<TInventory, TStack, Class<?>>getStrategy(Type.CLASS).with(types);
+        QueryStrategy<TInventory, TStack, Class<?>> strategy = Query.<TInventory, TStack, Class<?>>getCompiledStrategy(Type.CLASS, types);
         return new Query<TInventory, TStack>(adapter, strategy);
     }
 
     public static <TInventory, TStack> Query<TInventory, TStack> compile(InventoryAdapter<TInventory, TStack> adapter, ItemType... types) {
-        QueryStrategy<TInventory, TStack, ItemType> strategy = Query.<TInventory, TStack, ItemType>getStrategy(Type.TYPE).with(types);
+        QueryStrategy<TInventory, TStack, ItemType> strategy = Query.<TInventory, TStack, ItemType>getCompiledStrategy(Type.TYPE, types);
         return new Query<TInventory, TStack>(adapter, strategy);
     }
 
@@ -228,12 +265,12 @@ public static <TInventory, TStack> Query<TInventory, TStack> compileExact(Invent
     }
 
     public static <TInventory, TStack> Query<TInventory, TStack> compile(InventoryAdapter<TInventory, TStack> adapter, InventoryProperty<?, ?>... props) {
-        QueryStrategy<TInventory, TStack, InventoryProperty<?, ?>> strategy = Query.<TInventory, TStack, InventoryProperty<?, ?>>getStrategy(Type.PROPERTIES).with(props);
+        QueryStrategy<TInventory, TStack, InventoryProperty<?, ?>> strategy = Query.<TInventory, TStack, InventoryProperty<?, ?>>getCompiledStrategy(Type.PROPERTIES, props);
         return new Query<TInventory, TStack>(adapter, strategy);
     }
 
     public static <TInventory, TStack> Query<TInventory, TStack> compile(InventoryAdapter<TInventory, TStack> adapter, Translation... names) {
-        QueryStrategy<TInventory, TStack, Translation> strategy = Query.<TInventory, TStack, Translation>getStrategy(Type.NAME).with(names);
+        QueryStrategy<TInventory, TStack, Translation> strategy = Query.<TInventory, TStack, Translation>getCompiledStrategy(Type.NAME, names);
         return new Query<TInventory, TStack>(adapter, strategy);
     }
 
@@ -247,28 +284,49 @@ public static <TInventory, TStack> Query<TInventory, TStack> compile(InventoryAd
         return new Query<TInventory, TStack>(adapter, strategy);
     }
 
+    /**
+     * Gets a strategy of the given type compiled with the given arguments,
+     * reusing a previously compiled strategy if the arguments are equal.
+     * This must only be used for arguments that are immutable.
+     */
+    @SuppressWarnings("unchecked")
+    private static <TInventory, TStack, TArgs> QueryStrategy<TInventory, TStack, TArgs> getCompiledStrategy(Type type, TArgs[] args) {
+        final ImmutableList<Object> key = ImmutableList.builder().add(type.getKey()).add(args).build();
+        try {
+            return (QueryStrategy<TInventory, TStack, TArgs>) Query.compiledStrategies.get(key,
+                    () -> Query.<TInventory, TStack, TArgs>getStrategy(type).with(args));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new InvalidQueryStrategyException("The query strategy %s could not be compiled", type.getKey());
+        }
+    }
+
     public static <TInventory, TStack, TArgs> QueryStrategy<TInventory, TStack, TArgs> getStrategy(Type type) {
         return Query.getStrategy(type.getKey());
     }
 
     public static <TInventory, TStack, TArgs> QueryStrategy<TInventory, TStack, TArgs> getStrategy(String key) {
         @SuppressWarnings("unchecked")
-        Class<? extends QueryStrategy<TInventory, TStack, TArgs>> strategyClass = (Class<? extends QueryStrategy<TInventory, TStack, TArgs>>) checkNotNull(Query.strategies.get(key), "The specified query strategy [%s], was not registered", key);
+        Constructor<? extends QueryStrategy<TInventory, TStack, TArgs>> strategyCtor = (Constructor<? extends QueryStrategy<TInventory, TStack, TArgs>>) checkNotNull(Query.strategies.get(key), "The specified query strategy [%s], was not registered", key);
         try {
-            return strategyClass.newInstance();
+            return strategyCtor.newInstance();
         } catch (Exception ex) {
-            throw new InvalidQueryStrategyException("The query strategy class %s does not provide a noargs ctor", strategyClass);
+            throw new InvalidQueryStrategyException("The query strategy class %s could not be instantiated", strategyCtor.getDeclaringClass());
         }
     }
 
     public static void registerStrategy(String key, Class<? extends QueryStrategy<?, ?, ?>> strategyClass) {
+        Constructor<? extends QueryStrategy<?, ?, ?>> ctor;
         try {
-            @SuppressWarnings({ "unchecked", "unused" })
-            Constructor<QueryStrategy<?, ?, ?>> ctor = (Constructor<QueryStrategy<?, ?, ?>>) checkNotNull(strategyClass, "strategyClass").getConstructor();
+            ctor = checkNotNull(strategyClass, "strategyClass").getConstructor();
         } catch (Exception ex) {
             throw new InvalidQueryStrategyException("The query strategy class %s does not provide a noargs ctor", strategyClass);
         }
-        Query.strategies.put(key, strategyClass);
+        Query.strategies.put(key, ctor);
+        // Strategies compiled with a previously registered class are stale
+        Query.compiledStrategies.invalidateAll();
     }
 
     public static void setDefaultResultProvider(ResultAdapterProvider<?, ?> defaultResultProvider) {
@@ -32,4 +32,15 @@
     public abstract QueryStrategy<TInventory, TStack, TArgs> with(TArgs[] args);
 
     public abstract boolean matches(Lens<TInventory, TStack> lens, Lens<TInventory, TStack> parent, Fabric<TInventory> inventory);
+
+    /**
+     * Gets whether this strategy only matches on the structure of the lens
+     * tree and never on the contents of the inventory, in which case the
+     * matches of a lens tree may be cached and reused by later queries.
+     *
+     * @return Whether the matches only depend on the lens tree
+     */
+    public boolean isStructural() {
+        return false;
+    }
 }
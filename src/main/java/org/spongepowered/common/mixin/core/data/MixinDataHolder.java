@@ -54,9 +54,9 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Mixin(value = {TileEntity.class, Entity.class, ItemStack.class, SpongeUser.class}, priority = 999)
 public abstract class MixinDataHolder implements DataHolder {
@@ -304,76 +304,74 @@ public DataTransactionResult copyFrom(DataHolder that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        TimingsManager.DATA_GROUP_HANDLER.startTimingIfSync();
-        SpongeTimings.dataGetByKey.startTimingIfSync();
-        final Optional<ValueProcessor<E, ? extends BaseValue<E>>> optional = SpongeDataManager.getInstance().getBaseValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final Optional<E> value = optional.get().getValueFromContainer(this);
-            SpongeTimings.dataGetByKey.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return value;
+        final boolean timed = SpongeTimings.dataGetByKey.startTimingIfSampled();
+        final ValueProcessor<E, ?> processor = SpongeDataManager.getInstance().getRawValueProcessor(checkNotNull(key));
+        final Optional<E> value;
+        if (processor != null) {
+            value = processor.getValueFromContainer(this);
         } else if (this instanceof IMixinCustomDataHolder) {
-            final Optional<E> custom = ((IMixinCustomDataHolder) this).getCustom(key);
+            value = ((IMixinCustomDataHolder) this).getCustom(key);
+        } else {
+            value = Optional.empty();
+        }
+        if (timed) {
             SpongeTimings.dataGetByKey.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return custom;
         }
-        SpongeTimings.dataGetByKey.stopTimingIfSync();
-        TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-        return Optional.empty();
+        return value;
     }
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        TimingsManager.DATA_GROUP_HANDLER.startTimingIfSync();
-        SpongeTimings.dataGetValue.startTimingIfSync();
-        final Optional<ValueProcessor<E, V>> optional = SpongeDataManager.getInstance().getValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final Optional<V> value = optional.get().getApiValueFromContainer(this);
-            SpongeTimings.dataGetValue.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return value;
+        final boolean timed = SpongeTimings.dataGetValue.startTimingIfSampled();
+        final ValueProcessor<E, V> processor = SpongeDataManager.getInstance().getRawValueProcessor(checkNotNull(key));
+        final Optional<V> value;
+        if (processor != null) {
+            value = processor.getApiValueFromContainer(this);
         } else if (this instanceof IMixinCustomDataHolder) {
-            final Optional<V> customValue = ((IMixinCustomDataHolder) this).getCustomValue(key);
+            value = ((IMixinCustomDataHolder) this).getCustomValue(key);
+        } else {
+            value = Optional.empty();
+        }
+        if (timed) {
             SpongeTimings.dataGetValue.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return customValue;
         }
-        SpongeTimings.dataGetValue.stopTimingIfSync();
-        TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-        return Optional.empty();
+        return value;
     }
 
     @Override
     public boolean supports(Key<?> key) {
-        TimingsManager.DATA_GROUP_HANDLER.startTimingIfSync();
-        SpongeTimings.dataSupportsKey.startTimingIfSync();
-        final Optional<ValueProcessor<?, ?>> optional = SpongeDataManager.getInstance().getWildValueProcessor(checkNotNull(key));
-        if (optional.isPresent()) {
-            final boolean supports = optional.get().supports(this);
-            SpongeTimings.dataSupportsKey.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return supports;
+        final boolean timed = SpongeTimings.dataSupportsKey.startTimingIfSampled();
+        final ValueProcessor<?, ?> processor = SpongeDataManager.getInstance().getRawWildValueProcessor(checkNotNull(key));
+        final boolean supports;
+        if (processor != null) {
+            supports = processor.supports(this);
+        } else if (this instanceof IMixinCustomDataHolder) {
+            supports = ((IMixinCustomDataHolder) this).supportsCustom(key);
+        } else {
+            supports = false;
         }
-        if (this instanceof IMixinCustomDataHolder) {
-            final boolean customSupport = ((IMixinCustomDataHolder) this).supportsCustom(key);
+        if (timed) {
             SpongeTimings.dataSupportsKey.stopTimingIfSync();
-            TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-            return customSupport;
         }
-        SpongeTimings.dataSupportsKey.stopTimingIfSync();
-        TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
-        return false;
+        return supports;
     }
 
     @Override
     public Set<Key<?>> getKeys() {
-        return getContainers().stream().flatMap(container -> container.getKeys().stream()).collect(Collectors.toSet());
+        final Set<Key<?>> keys = new HashSet<>();
+        for (DataManipulator<?, ?> container : getContainers()) {
+            keys.addAll(container.getKeys());
+        }
+        return keys;
     }
 
     @Override
     public Set<ImmutableValue<?>> getValues() {
-        return getContainers().stream().flatMap(container -> container.getValues().stream()).collect(Collectors.toSet());
+        final Set<ImmutableValue<?>> values = new HashSet<>();
+        for (DataManipulator<?, ?> container : getContainers()) {
+            values.addAll(container.getValues());
+        }
+        return values;
     }
 
     // The rest of these are default implemented in the event some implementation fails.
@@ -104,6 +104,7 @@
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.storage.PlayerDataWriter;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.io.IOException;
@@ -311,6 +312,12 @@ public void onServerStopping(CallbackInfo ci) {
         ((MinecraftServer) (Object) this).getPlayerProfileCache().save();
     }
 
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    public void onServerStopped(CallbackInfo ci) {
+        // Make sure all player data queued by the final save is written
+        PlayerDataWriter.flush();
+    }
+
     /**
      * @author blood - December 23rd, 2015
      * @author Zidane - March 13th, 2016
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.server;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableList;
 import com.mojang.authlib.GameProfile;
 import io.netty.buffer.Unpooled;
 import net.minecraft.entity.Entity;
@@ -43,7 +44,6 @@
 import net.minecraft.network.play.server.SPacketHeldItemChange;
 import net.minecraft.network.play.server.SPacketJoinGame;
 import net.minecraft.network.play.server.SPacketPlayerAbilities;
-import net.minecraft.network.play.server.SPacketPlayerListItem;
 import net.minecraft.network.play.server.SPacketRespawn;
 import net.minecraft.network.play.server.SPacketServerDifficulty;
 import net.minecraft.network.play.server.SPacketSetExperience;
@@ -110,6 +110,7 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.entity.player.SpongeUser;
+import org.spongepowered.common.entity.player.tab.TabListUpdateQueue;
 import org.spongepowered.common.event.tracking.CauseTracker;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.phase.PlayerPhase;
@@ -151,6 +152,9 @@ public abstract class MixinPlayerList implements IMixinPlayerList {
             SERVER_SEND_PACKET_TO_ALL_PLAYERS =
             "Lnet/minecraft/server/management/PlayerList;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V";
     @Shadow @Final private static Logger LOG;
+
+    private final TabListUpdateQueue tabListUpdates = new TabListUpdateQueue();
+
     @Shadow @Final private MinecraftServer mcServer;
     @Shadow @Final public Map<UUID, EntityPlayerMP> uuidToPlayerMap;
     @Shadow @Final public List<EntityPlayerMP> playerEntityList;
@@ -243,6 +247,7 @@ public void initializeConnectionToPlayer(NetworkManager netManager, EntityPlayer
         if (SpongeUser.dirtyUsers.contains(user)) {
             user.save();
         }
+        user.awaitSave();
         // Sponge end
 
         NBTTagCompound nbttagcompound = this.readPlayerDataFromFile(playerIn);
@@ -808,6 +813,18 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
         ((IMixinServerScoreboard) ((Player) player).getScoreboard()).removePlayer(player, false);
     }
 
+    @Redirect(method = "playerLoggedOut(Lnet/minecraft/entity/player/EntityPlayerMP;)V",
+            at = @At(value = "INVOKE", target = SERVER_SEND_PACKET_TO_ALL_PLAYERS))
+    private void onSendLogOutTabListRemoval(PlayerList playerList, Packet<?> packet, EntityPlayerMP player) {
+        // The removal is sent along with the other tab list changes of this tick
+        this.tabListUpdates.leave(player);
+    }
+
+    @Inject(method = "onTick", at = @At("HEAD"))
+    private void onTickFlushTabListUpdates(CallbackInfo ci) {
+        this.tabListUpdates.flush(this.playerEntityList);
+    }
+
     @Redirect(method = "playerLoggedOut(Lnet/minecraft/entity/player/EntityPlayerMP;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;removeEntity(Lnet/minecraft/entity/Entity;)V"))
     private void onPlayerRemoveFromWorldFromDisconnect(WorldServer world, Entity player, EntityPlayerMP playerMP) {
         final CauseTracker causeTracker = ((IMixinWorldServer) world).getCauseTracker();
@@ -822,25 +839,16 @@ private void onPlayerRemoveFromWorldFromDisconnect(WorldServer world, Entity pla
 
     @Inject(method = "saveAllPlayerData()V", at = @At("RETURN"))
     private void onSaveAllPlayerData(CallbackInfo ci) {
-        for (SpongeUser user : SpongeUser.dirtyUsers) {
+        // Saving removes the user from the dirty users
+        for (SpongeUser user : ImmutableList.copyOf(SpongeUser.dirtyUsers)) {
             user.save();
         }
     }
 
     @Inject(method = "playerLoggedIn", at = @At(value = "INVOKE", target = SERVER_SEND_PACKET_TO_ALL_PLAYERS, shift = At.Shift.BEFORE), cancellable = true)
     public void playerLoggedIn2(EntityPlayerMP player, CallbackInfo ci) {
-        // Create a packet to be used for players without context data
-        SPacketPlayerListItem noSpecificViewerPacket = new SPacketPlayerListItem(SPacketPlayerListItem.Action.ADD_PLAYER, player);
-
-        for (EntityPlayerMP viewer : this.playerEntityList) {
-            if (((Player) viewer).canSee((Player) player)) {
-                viewer.connection.sendPacket(noSpecificViewerPacket);
-            }
-
-            if (((Player) player).canSee((Player) viewer)) {
-                player.connection.sendPacket(new SPacketPlayerListItem(SPacketPlayerListItem.Action.ADD_PLAYER, viewer));
-            }
-        }
+        // Sent before spawning the player, clients don't spawn players without a tab list entry
+        this.tabListUpdates.join(player, this.playerEntityList);
 
         // Spawn player into level
         WorldServer level = this.mcServer.worldServerForDimension(player.dimension);
@@ -30,17 +30,29 @@
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMapEntry;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
 
 @Mixin(PlayerChunkMapEntry.class)
 public abstract class MixinPlayerChunkMapEntry implements IMixinPlayerChunkMapEntry {
 
+    private static final String CHUNK_PROVIDER_LOAD_CHUNK =
+            "Lnet/minecraft/world/gen/ChunkProviderServer;loadChunk(II)Lnet/minecraft/world/chunk/Chunk;";
+    private static final String CHUNK_PROVIDER_PROVIDE_CHUNK =
+            "Lnet/minecraft/world/gen/ChunkProviderServer;provideChunk(II)Lnet/minecraft/world/chunk/Chunk;";
+
     @Shadow @Final private PlayerChunkMap playerChunkMap;
     @Shadow @Final private ChunkPos pos;
     @Shadow public int changes;
@@ -66,4 +78,32 @@ public void markBiomesForUpdate() {
         this.updateBiomes = true;
         this.playerChunkMap.dirtyEntries.add((PlayerChunkMapEntry) (Object) this);
     }
+
+    @Redirect(method = "<init>", at = @At(value = "INVOKE", target = CHUNK_PROVIDER_LOAD_CHUNK))
+    private Chunk onConstructLoadChunk(ChunkProviderServer chunkProvider, int x, int z) {
+        return requestChunk(chunkProvider, x, z, false);
+    }
+
+    @Redirect(method = "providePlayerChunk", at = @At(value = "INVOKE", target = CHUNK_PROVIDER_LOAD_CHUNK))
+    private Chunk onProvidePlayerChunkLoad(ChunkProviderServer chunkProvider, int x, int z) {
+        return requestChunk(chunkProvider, x, z, false);
+    }
+
+    @Redirect(method = "providePlayerChunk", at = @At(value = "INVOKE", target = CHUNK_PROVIDER_PROVIDE_CHUNK))
+    private Chunk onProvidePlayerChunkGenerate(ChunkProviderServer chunkProvider, int x, int z) {
+        return requestChunk(chunkProvider, x, z, true);
+    }
+
+    /**
+     * Requests the chunk through the asynchronous load queue of the provider,
+     * if the world loads chunks asynchronously. Entries without a chunk are
+     * retried every tick by the player chunk map, so the chunk is picked up
+     * once the queue has added it to the world.
+     */
+    @Nullable
+    private static Chunk requestChunk(ChunkProviderServer chunkProvider, int x, int z, boolean generate) {
+        final CompletableFuture<Chunk> future = ((IMixinChunkProviderServer) chunkProvider).loadChunkAsync(x, z, generate);
+        // Unreadable chunks complete the future with null or a generated chunk
+        return future.isDone() ? future.join() : null;
+    }
 }
@@ -90,8 +90,10 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.BlockUtil;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerStore;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.CauseTracker;
+import org.spongepowered.common.event.tracking.PhaseCapabilities;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseData;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
@@ -111,7 +113,6 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -135,6 +136,8 @@ public abstract class MixinChunk implements Chunk, IMixinChunk, IMixinCachable {
     private long cacheKey;
     private static final Direction[] CARDINAL_DIRECTIONS = new Direction[] {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
 
+    // Returned while block tracking is disabled, never written to
+    private static final PlayerTrackerStore EMPTY_TRACKED_BLOCK_POSITIONS = new PlayerTrackerStore(0);
     private static final Vector3i BIOME_SIZE = new Vector3i(SpongeChunkLayout.CHUNK_SIZE.getX(), 1, SpongeChunkLayout.CHUNK_SIZE.getZ());
     private Vector3i chunkPos;
     private Vector3i blockMin;
@@ -436,7 +439,7 @@ public MutableBlockVolumeWorker<Chunk> getBlockWorker(Cause cause) {
     @Inject(method = "getEntitiesWithinAABBForEntity", at = @At(value = "RETURN"))
     public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<Entity> p_177414_4_,
             CallbackInfo ci) {
-        if (this.world.isRemote || ((IMixinWorldServer) this.world).getCauseTracker().getCurrentPhaseData().state.ignoresEntityCollisions()) {
+        if (this.world.isRemote || ((IMixinWorldServer) this.world).getCauseTracker().hasCapability(PhaseCapabilities.IGNORES_ENTITY_COLLISIONS)) {
             return;
         }
 
@@ -460,7 +463,7 @@ public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb
     @Inject(method = "getEntitiesOfTypeWithinAAAB", at = @At(value = "RETURN"))
     public void onGetEntitiesOfTypeWithinAAAB(Class<? extends Entity> entityClass, AxisAlignedBB aabb, List listToFill, Predicate<Entity> p_177430_4_,
             CallbackInfo ci) {
-        if (this.world.isRemote || ((IMixinWorldServer) this.world).getCauseTracker().getCurrentPhaseData().state.ignoresEntityCollisions()) {
+        if (this.world.isRemote || ((IMixinWorldServer) this.world).getCauseTracker().hasCapability(PhaseCapabilities.IGNORES_ENTITY_COLLISIONS)) {
             return;
         }
 
@@ -673,13 +676,8 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return Collections.emptyMap();
-    }
-
-    @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return Collections.emptyMap();
+    public PlayerTrackerStore getTrackedBlockPositions() {
+        return EMPTY_TRACKED_BLOCK_POSITIONS;
     }
 
     @Override
@@ -703,11 +701,7 @@ public void setBlockCreator(BlockPos pos, @Nullable UUID uuid) {
     }
 
     @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
-    }
-
-    @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
+    public void setTrackedBlockPositions(PlayerTrackerStore trackedPositions) {
     }
 
     // Continuing the rest of the implementation
@@ -22,36 +22,35 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.util;
+package org.spongepowered.common.mixin.core.world.chunk;
 
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import org.spongepowered.common.interfaces.IMixinCachable;
+import net.minecraft.util.BitArray;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.interfaces.world.IMixinBlockStateContainer;
 
-import javax.annotation.Nullable;
+@Mixin(BlockStateContainer.class)
+public abstract class MixinBlockStateContainer implements IMixinBlockStateContainer {
 
-public class CachedLong2ObjectMap<V extends IMixinCachable> extends Long2ObjectOpenHashMap<V> {
-
-    private static final long serialVersionUID = 190617916448550012L;
-    @Nullable private V lastRetrievedValue = null;
+    @Shadow protected BitArray storage;
+    @Shadow protected IBlockStatePalette palette;
+    @Shadow private int bits;
 
     @Override
-    public V get(long key) {
-        if (this.lastRetrievedValue != null && key == this.lastRetrievedValue.getCacheKey()) {
-            return this.lastRetrievedValue;
-        }
-        return this.lastRetrievedValue = super.get(key);
+    public IBlockStatePalette getPalette() {
+        return this.palette;
     }
 
     @Override
-    public V remove(long key) {
-        if (this.lastRetrievedValue != null && key == this.lastRetrievedValue.getCacheKey()) {
-            this.lastRetrievedValue = null;
-        }
-        return super.remove(key);
+    public BitArray getStorage() {
+        return this.storage;
     }
 
     @Override
-    public boolean containsKey(long key) {
-        return this.get(key) != null;
+    public int getBits() {
+        return this.bits;
     }
+
 }
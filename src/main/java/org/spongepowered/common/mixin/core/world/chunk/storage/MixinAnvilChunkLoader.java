@@ -25,17 +25,23 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.datafix.DataFixer;
+import net.minecraft.util.datafix.FixTypes;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraft.world.chunk.storage.RegionFileCache;
+import net.minecraft.world.storage.ThreadedFileIOBase;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.Transform;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -49,6 +55,7 @@
 import org.spongepowered.asm.mixin.Interface;
 import org.spongepowered.asm.mixin.Intrinsic;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -59,16 +66,22 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerStore;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
+import org.spongepowered.common.world.storage.ChunkSaveStatistics;
+import org.spongepowered.common.world.storage.ChunkSectionSnapshot;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
@@ -79,72 +92,132 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow @Final private Set<ChunkPos> pendingAnvilChunksCoordinates;
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToRemove;
     @Shadow @Final private File chunkSaveLocation;
+    @Shadow @Final private DataFixer dataFixer;
+
+    @Shadow @Nullable protected abstract net.minecraft.world.chunk.Chunk checkedReadChunkFromNBT(World worldIn, int x, int z,
+            NBTTagCompound compound);
+    @Shadow protected abstract void writeChunkData(ChunkPos pos, NBTTagCompound compound) throws IOException;
+
+    private static final ExtendedBlockStorage[] NO_SECTIONS = new ExtendedBlockStorage[0];
+
+    // The time at which each chunk waiting in chunksToRemove was first queued
+    private final Map<ChunkPos, Long> queuedSince = Maps.newConcurrentMap();
+    // The copied sections of saved chunks whose "Sections" list has not been built yet, keyed by the "Level" compound
+    private final Map<NBTTagCompound, ChunkSectionSnapshot[]> pendingSections = new MapMaker().weakKeys().makeMap();
+    @Nullable private ChunkSectionSnapshot[] sectionsToWrite;
+
+    /**
+     * Copies the sections of the chunk instead of serializing them on the
+     * main thread. The "Sections" list is built from the copies on the file
+     * I/O thread, or by whichever thread reads the pending data first.
+     */
+    @Redirect(method = "writeChunkToNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/Chunk;getBlockStorageArray()[Lnet/minecraft/world/chunk/storage/ExtendedBlockStorage;"))
+    private ExtendedBlockStorage[] onGetBlockStorageArray(net.minecraft.world.chunk.Chunk chunk) {
+        this.sectionsToWrite = ChunkSectionSnapshot.of(chunk.getBlockStorageArray());
+        return NO_SECTIONS;
+    }
 
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
+        if (this.sectionsToWrite != null) {
+            this.pendingSections.put(compound, this.sectionsToWrite);
+            this.sectionsToWrite = null;
+        }
+
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
         // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
+        if (!chunk.getTrackedBlockPositions().isEmpty()) {
             NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_BLOCK_TRACKER_TABLE, chunk.getTrackedBlockPositions().toIntArray());
             compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
+        }
+    }
 
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
+    /**
+     * @author Sponge
+     * @reason Vanilla drops a save if the same chunk is being written at the
+     * time it is queued. Always queue the latest data instead, coalescing it
+     * with any earlier save of the chunk that has not been written yet.
+     *
+     * @param pos The chunk position
+     * @param compound The chunk data
+     */
+    @Overwrite
+    protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
+        final boolean coalesced = this.chunksToRemove.put(pos, compound) != null;
+        if (!coalesced) {
+            this.queuedSince.putIfAbsent(pos, System.nanoTime());
+        }
+        ChunkSaveStatistics.onChunkQueued(coalesced);
+        ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
+    }
 
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
+    @Redirect(method = "writeNextIO", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/storage/AnvilChunkLoader;writeChunkData(Lnet/minecraft/util/math/ChunkPos;Lnet/minecraft/nbt/NBTTagCompound;)V"))
+    private void onWriteChunkData(AnvilChunkLoader chunkLoader, ChunkPos pos, NBTTagCompound compound) throws IOException {
+        final Long queuedSince = this.queuedSince.remove(pos);
+        final long start = System.nanoTime();
+        try {
+            this.writePendingSections(compound.getCompoundTag("Level"));
+            this.writeChunkData(pos, compound);
+        } finally {
+            ChunkSaveStatistics.onChunkWritten(queuedSince == null ? 0 : start - queuedSince, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds the "Sections" list to chunk data that was saved with copied
+     * sections and is still pending. Both the file I/O thread and chunk
+     * loads may get here for the same data, so the first one builds the
+     * list and any other waits for it.
+     *
+     * @param level The "Level" compound of the chunk data
+     */
+    private void writePendingSections(NBTTagCompound level) {
+        synchronized (level) {
+            final ChunkSectionSnapshot[] sections = this.pendingSections.remove(level);
+            if (sections != null) {
+                level.setTag("Sections", ChunkSectionSnapshot.write(sections));
             }
         }
     }
 
+    @Inject(method = "readChunkFromNBT", at = @At("HEAD"))
+    private void onReadChunkFromNBTHead(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci) {
+        this.writePendingSections(compound);
+    }
+
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX, int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            Map<Integer, PlayerTracker> trackedIntPlayerPositions = Maps.newHashMap();
-            Map<Short, PlayerTracker> trackedShortPlayerPositions = Maps.newHashMap();
-            NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+            NBTTagCompound trackedNbt = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
             IMixinChunk chunk = (IMixinChunk) chunkIn;
+            if (trackedNbt.hasKey(NbtDataUtil.SPONGE_BLOCK_TRACKER_TABLE)) {
+                chunk.setTrackedBlockPositions(PlayerTrackerStore.fromIntArray(trackedNbt.getIntArray(NbtDataUtil.SPONGE_BLOCK_TRACKER_TABLE)));
+                return;
+            }
+            // Migrate the previous format of one compound per tracked block, remove in future
+            NBTTagList positions = trackedNbt.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+            PlayerTrackerStore trackedPositions = new PlayerTrackerStore(positions.tagCount());
             for (int i = 0; i < positions.tagCount(); i++) {
                 NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
+                int ownerIndex = -1;
+                int notifierIndex = -1;
                 if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
+                    ownerIndex = valueNbt.getInteger("owner");
                 } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
+                    ownerIndex = valueNbt.getInteger("uuid");
                 }
                 if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
+                    notifierIndex = valueNbt.getInteger("notifier");
                 }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
-                    }
+                if (notifierIndex != -1 || ownerIndex != -1) {
+                    final int pos = valueNbt.hasKey("pos") ? PlayerTrackerStore.fromShortPos(valueNbt.getShort("pos")) : valueNbt.getInteger("ipos");
+                    trackedPositions.set(pos, ownerIndex, notifierIndex);
                 }
             }
-            chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
+            chunk.setTrackedBlockPositions(trackedPositions);
         }
     }
 
@@ -208,4 +281,28 @@ public Path getWorldDir() {
         return this.chunkSaveLocation.toPath();
     }
 
+    @Nullable
+    @Override
+    public NBTTagCompound readChunkData(int x, int z) throws IOException {
+        // Chunks queued for writing are more recent than the region file
+        NBTTagCompound compound = this.chunksToRemove.get(new ChunkPos(x, z));
+        if (compound != null) {
+            this.writePendingSections(compound.getCompoundTag("Level"));
+            return compound;
+        }
+        DataInputStream stream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z);
+        if (stream == null) {
+            return null;
+        }
+        try (DataInputStream input = stream) {
+            return this.dataFixer.process(FixTypes.CHUNK, CompressedStreamTools.read(input));
+        }
+    }
+
+    @Nullable
+    @Override
+    public net.minecraft.world.chunk.Chunk readChunkFromData(World world, int x, int z, NBTTagCompound compound) {
+        return this.checkedReadChunkFromNBT(world, x, z, compound);
+    }
+
 }
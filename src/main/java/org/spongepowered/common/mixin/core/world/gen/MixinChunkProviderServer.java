@@ -26,6 +26,7 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -50,26 +51,26 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.event.tracking.CauseTracker;
-import org.spongepowered.common.event.tracking.IPhaseState;
+import org.spongepowered.common.event.tracking.PhaseCapabilities;
 import org.spongepowered.common.event.tracking.PhaseContext;
-import org.spongepowered.common.event.tracking.phase.TrackingPhases;
-import org.spongepowered.common.event.tracking.phase.entity.EntityPhase;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
-import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
-import org.spongepowered.common.event.tracking.phase.tick.TickPhase;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
-import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.ChunkRegistry;
 import org.spongepowered.common.world.SpongeEmptyChunk;
+import org.spongepowered.common.world.storage.AsyncChunkLoadQueue;
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 @Mixin(ChunkProviderServer.class)
 public abstract class MixinChunkProviderServer implements WorldStorage, IMixinChunkProviderServer {
@@ -79,12 +80,14 @@ public abstract class MixinChunkProviderServer implements WorldStorage, IMixinCh
     private boolean forceChunkRequests = false;
     private long chunkUnloadDelay = 15000;
     private int maxChunkUnloads = 100;
+    private long chunkUnloadTimeBudget = 0;
+    @Nullable private AsyncChunkLoadQueue chunkLoadQueue;
 
     @Shadow @Final public WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
     @Shadow public IChunkGenerator chunkGenerator;
     @SuppressWarnings({"unchecked", "rawtypes"})
-    @Shadow @Final @Mutable public Long2ObjectMap<Chunk> id2ChunkMap = new CachedLong2ObjectMap();
+    @Shadow @Final @Mutable public Long2ObjectMap<Chunk> id2ChunkMap = new ChunkRegistry();
 
     @Shadow public abstract Chunk getLoadedChunk(int x, int z);
     @Shadow public abstract Chunk loadChunk(int x, int z);
@@ -101,6 +104,10 @@ private void onConstruct(WorldServer worldObjIn, IChunkLoader chunkLoaderIn, ICh
         this.denyChunkRequests = spongeConfig.getConfig().getWorld().getDenyChunkRequests();
         this.chunkUnloadDelay = spongeConfig.getConfig().getWorld().getChunkUnloadDelay() * 1000;
         this.maxChunkUnloads = spongeConfig.getConfig().getWorld().getMaxChunkUnloads();
+        this.chunkUnloadTimeBudget = TimeUnit.MICROSECONDS.toNanos(spongeConfig.getConfig().getWorld().getChunkUnloadTimeBudget());
+        if (spongeConfig.getConfig().getWorld().getAsyncChunkLoading() && chunkLoaderIn instanceof IMixinAnvilChunkLoader) {
+            this.chunkLoadQueue = new AsyncChunkLoadQueue(this, (IMixinAnvilChunkLoader) chunkLoaderIn);
+        }
     }
 
     @Override
@@ -140,6 +147,7 @@ public void unload(Chunk chunkIn)
             // Sponge - we avoid using the queue and simply check the unloaded flag during unloads
             //this.droppedChunksSet.add(Long.valueOf(ChunkPos.asLong(chunkIn.xPosition, chunkIn.zPosition)));
             chunkIn.unloaded = true;
+            ((ChunkRegistry) this.id2ChunkMap).queueUnload(chunkIn, this.chunkUnloadDelay);
         }
     }
 
@@ -157,6 +165,80 @@ private Chunk loadChunkForce(int x, int z) {
         return chunk;
     }
 
+    @Override
+    public CompletableFuture<Chunk> loadChunkAsync(int x, int z, boolean generate) {
+        Chunk chunk = this.getLoadedChunk(x, z);
+        if (chunk != null) {
+            return CompletableFuture.completedFuture(chunk);
+        }
+        if (this.chunkLoadQueue == null) {
+            return CompletableFuture.completedFuture(generate ? this.provideChunk(x, z) : this.loadChunk(x, z));
+        }
+        return this.chunkLoadQueue.loadChunk(x, z, generate);
+    }
+
+    @Nullable
+    @Override
+    public Chunk completeChunkLoad(int x, int z, @Nullable NBTTagCompound compound, boolean generate) {
+        Chunk chunk = this.getLoadedChunk(x, z);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        ((IMixinWorldServer) this.world).getTimingsHandler().asyncChunkLoadFinishTimer.startTiming();
+        if (compound != null) {
+            chunk = this.readChunkFromData(x, z, compound);
+        }
+        if (chunk == null) {
+            ((IMixinWorldServer) this.world).getTimingsHandler().asyncChunkLoadFinishTimer.stopTiming();
+            if (!generate) {
+                return null;
+            }
+            // The chunk was requested explicitly, so it may not be denied
+            final boolean forceChunkRequests = this.forceChunkRequests;
+            this.forceChunkRequests = true;
+            try {
+                return this.provideChunk(x, z);
+            } finally {
+                this.forceChunkRequests = forceChunkRequests;
+            }
+        }
+
+        if (CauseTracker.ENABLED) {
+            ((IMixinWorldServer) this.world).getCauseTracker().switchToPhase(GenerationPhase.State.TERRAIN_GENERATION, PhaseContext.start()
+                    .addCaptures()
+                    .complete());
+        }
+        this.id2ChunkMap.put(ChunkPos.asLong(x, z), chunk);
+        chunk.onChunkLoad();
+        chunk.populateChunk((ChunkProviderServer) (Object) this, this.chunkGenerator);
+        if (CauseTracker.ENABLED) {
+            ((IMixinWorldServer) this.world).getCauseTracker().completePhase();
+        }
+        ((IMixinWorldServer) this.world).getTimingsHandler().asyncChunkLoadFinishTimer.stopTiming();
+        return chunk;
+    }
+
+    // Mirrors loadChunkFromFile for data that has already been read
+    @Nullable
+    private Chunk readChunkFromData(int x, int z, NBTTagCompound compound) {
+        Chunk chunk = ((IMixinAnvilChunkLoader) this.chunkLoader).readChunkFromData(this.world, x, z, compound);
+        if (chunk != null) {
+            chunk.setLastSaveTime(this.world.getTotalWorldTime());
+            this.chunkGenerator.recreateStructures(chunk, x, z);
+        }
+        return chunk;
+    }
+
+    @Inject(method = "loadChunkFromFile", at = @At("HEAD"), cancellable = true)
+    private void onLoadChunkFromFile(int x, int z, CallbackInfoReturnable<Chunk> cir) {
+        // Don't read the chunk twice if it is already being read in the background
+        if (this.chunkLoadQueue != null && this.chunkLoadQueue.isPending(x, z)) {
+            NBTTagCompound compound = this.chunkLoadQueue.awaitChunkData(x, z);
+            cir.setReturnValue(compound == null ? null : this.readChunkFromData(x, z, compound));
+        }
+    }
+
     @Redirect(method = "provideChunk", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;loadChunk(II)Lnet/minecraft/world/chunk/Chunk;"))
     public Chunk onProvideChunkHead(ChunkProviderServer chunkProviderServer, int x, int z) {
         if (!this.denyChunkRequests || this.forceChunkRequests) {
@@ -193,33 +275,8 @@ public void onProvideChunkEnd(int x, int z, CallbackInfoReturnable<Chunk> ci) {
     }
 
     private boolean canDenyChunkRequest() {
-        if (CauseTracker.ENABLED) {
-            final CauseTracker causeTracker = ((IMixinWorldServer) this.world).getCauseTracker();
-            final IPhaseState currentState = causeTracker.getCurrentState();
-            // States that cannot deny chunks
-            if (currentState == TickPhase.Tick.PLAYER
-                    || currentState == TickPhase.Tick.DIMENSION
-                    || currentState == EntityPhase.State.CHANGING_TO_DIMENSION
-                    || currentState == EntityPhase.State.LEAVING_DIMENSION) {
-                return false;
-            }
-
-            // States that can deny chunks
-            if (currentState == GenerationPhase.State.WORLD_SPAWNER_SPAWNING
-                    || currentState == PluginPhase.Listener.PRE_WORLD_TICK_LISTENER) {
-                return true;
-            }
-
-            // Phases that can deny chunks
-            if (currentState.getPhase() == TrackingPhases.BLOCK
-                    || currentState.getPhase() == TrackingPhases.ENTITY
-                    || currentState.getPhase() == TrackingPhases.TICK) {
-                return true;
-            }
-        }
-
-
-        return false;
+        return CauseTracker.ENABLED
+                && ((IMixinWorldServer) this.world).getCauseTracker().hasCapability(PhaseCapabilities.CAN_DENY_CHUNK_REQUESTS);
     }
 
     @Override
@@ -245,35 +302,39 @@ public long getChunkUnloadDelay() {
     /**
      * @author blood - October 20th, 2016
      * @reason Refactors entire method to not use the droppedChunksSet by
-     * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * polling the chunks queued for unload in order of their unload time,
+     * rather than looping through all loaded chunks.
      *
      * @return true if unload queue was processed
      */
     @Overwrite
     public boolean tick()
     {
+        if (this.chunkLoadQueue != null) {
+            this.chunkLoadQueue.processLoadedChunks();
+        }
+
         if (!this.world.disableLevelSaving)
         {
             ((IMixinWorldServer) this.world).getTimingsHandler().doChunkUnload.startTiming();
-            Iterator<Chunk> iterator = this.id2ChunkMap.values().iterator();
+            final ChunkRegistry chunkRegistry = (ChunkRegistry) this.id2ChunkMap;
             int chunksUnloaded = 0;
             long now = System.currentTimeMillis();
-            while (chunksUnloaded < this.maxChunkUnloads && iterator.hasNext()) {
-                Chunk chunk = iterator.next();
-                IMixinChunk spongeChunk = (IMixinChunk) chunk;
-                if (chunk != null && chunk.unloaded && !spongeChunk.isPersistedChunk()) {
-                    if (this.getChunkUnloadDelay() > 0) {
-                        if ((now - spongeChunk.getScheduledForUnload()) < this.chunkUnloadDelay) {
-                            continue;
-                        }
-                        spongeChunk.setScheduledForUnload(-1);
-                    }
-                    chunk.onChunkUnload();
-                    this.saveChunkData(chunk);
-                    this.saveChunkExtraData(chunk);
-                    iterator.remove();
-                    chunksUnloaded++;
+            // With a time budget, unload as many chunks as fit in it rather than a fixed amount
+            final long deadline = this.chunkUnloadTimeBudget > 0 ? System.nanoTime() + this.chunkUnloadTimeBudget : 0;
+            Chunk chunk;
+            while ((deadline != 0 || chunksUnloaded < this.maxChunkUnloads)
+                    && (chunk = chunkRegistry.pollUnload(now, this.chunkUnloadDelay)) != null) {
+                if (this.getChunkUnloadDelay() > 0) {
+                    ((IMixinChunk) chunk).setScheduledForUnload(-1);
+                }
+                chunk.onChunkUnload();
+                this.saveChunkData(chunk);
+                this.saveChunkExtraData(chunk);
+                chunkRegistry.remove(ChunkPos.asLong(chunk.xPosition, chunk.zPosition));
+                chunksUnloaded++;
+                if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+                    break;
                 }
             }
             ((IMixinWorldServer) this.world).getTimingsHandler().doChunkUnload.stopTiming();
@@ -283,6 +344,12 @@ public boolean tick()
         return false;
     }
 
+    // Save chunks grouped by region so each region file is written in one go
+    @Redirect(method = "saveChunks", at = @At(value = "INVOKE", target = "Lcom/google/common/collect/Lists;newArrayList(Ljava/lang/Iterable;)Ljava/util/ArrayList;", remap = false))
+    private ArrayList<Chunk> onSaveChunksCopy(Iterable<Chunk> chunks) {
+        return ((ChunkRegistry) this.id2ChunkMap).getChunksByRegion();
+    }
+
     // Copy of getLoadedChunk without marking chunk active.
     // This allows the chunk to unload if currently queued.
     @Override
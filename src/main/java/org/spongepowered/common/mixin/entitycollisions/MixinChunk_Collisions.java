@@ -38,7 +38,6 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
 
@@ -86,10 +85,9 @@ private <T extends Entity> boolean allowEntityCollision(List<T> listToFill) {
                 return true;
             }
 
-            final PhaseContext phaseContext = spongeWorld.getCauseTracker().getCurrentContext();
-            LocatableBlock locatable = phaseContext.getSource(LocatableBlock.class).orElse(null);
-            if (locatable != null) {
-                BlockType blockType =locatable.getLocation().getBlockType();
+            final Object source = spongeWorld.getCauseTracker().getCurrentContext().getSourceObject();
+            if (source instanceof LocatableBlock) {
+                BlockType blockType = ((LocatableBlock) source).getBlockState().getType();
                 IModData_Collisions spongeBlock = (IModData_Collisions) blockType;
                 if (spongeBlock.requiresCollisionsCacheRefresh()) {
                     spongeBlock.initializeCollisionState(this.world);
@@ -97,17 +95,14 @@ private <T extends Entity> boolean allowEntityCollision(List<T> listToFill) {
                 }
     
                 return !((spongeBlock.getMaxCollisions() >= 0) && (listToFill.size() >= spongeBlock.getMaxCollisions()));
-            } else {
-                IModData_Collisions spongeEntity = phaseContext.getSource(IModData_Collisions.class).orElse(null);
-                if (spongeEntity != null) {
-                    if (spongeEntity.requiresCollisionsCacheRefresh()) {
-                        spongeEntity.initializeCollisionState(this.world);
-                        spongeEntity.requiresCollisionsCacheRefresh(false);
-                    }
-
-                    return !((spongeEntity.getMaxCollisions() >= 0) && (listToFill.size() >= spongeEntity.getMaxCollisions()));
+            } else if (source instanceof IModData_Collisions) {
+                IModData_Collisions spongeEntity = (IModData_Collisions) source;
+                if (spongeEntity.requiresCollisionsCacheRefresh()) {
+                    spongeEntity.initializeCollisionState(this.world);
+                    spongeEntity.requiresCollisionsCacheRefresh(false);
                 }
-                return true;
+
+                return !((spongeEntity.getMaxCollisions() >= 0) && (listToFill.size() >= spongeEntity.getMaxCollisions()));
             }
         }
 
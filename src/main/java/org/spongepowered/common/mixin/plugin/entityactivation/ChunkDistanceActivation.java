@@ -0,0 +1,209 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Activates entities by the distance of their chunk to the closest player
+ * instead of testing every entity against every player in range.
+ *
+ * <p>The chunks in range of any player are collected once per tick, along
+ * with the distance at which a player's activation box first reaches the
+ * chunk and the distance at which it covers the whole chunk. Entities whose
+ * activation range covers their chunk are activated without any bounding
+ * box checks, entities out of reach are skipped, and only the entities in
+ * between are checked against the players near their chunk.</p>
+ *
+ * <p>As activation is only ever run on the main thread, the chunk map and
+ * its entries are reused across ticks and worlds.</p>
+ */
+final class ChunkDistanceActivation {
+
+    // Entities may stick out of the chunk they are stored in, or have moved out of it this tick
+    private static final int ENTITY_MARGIN = 2;
+    private static final int VERTICAL_RANGE = 256;
+
+    private static final AxisAlignedBB rangeBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
+    private static final Long2ObjectMap<ChunkEntry> chunks = new Long2ObjectOpenHashMap<>();
+    private static final List<ChunkEntry> entryPool = new ArrayList<>();
+    private static int usedEntries;
+
+    private ChunkDistanceActivation() {
+    }
+
+    static void activateEntities(WorldServer world, int maxRange, long currentTick) {
+        if (world.playerEntities.isEmpty()) {
+            return;
+        }
+        try {
+            for (EntityPlayer player : world.playerEntities) {
+                ((IModData_Activation) player).setActivatedTick(currentTick);
+                collectChunks(player, maxRange);
+            }
+
+            final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+            for (ChunkEntry entry : chunks.values()) {
+                final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(entry.x, entry.z);
+                if (chunk != null) {
+                    activateChunkEntities(entry, chunk, currentTick);
+                }
+            }
+        } finally {
+            for (int i = 0; i < usedEntries; i++) {
+                entryPool.get(i).players.clear();
+            }
+            usedEntries = 0;
+            chunks.clear();
+        }
+    }
+
+    private static void collectChunks(EntityPlayer player, int maxRange) {
+        final AxisAlignedBB playerBB = player.getEntityBoundingBox();
+        final int minChunkX = MathHelper.floor((playerBB.minX - maxRange) / 16.0D);
+        final int maxChunkX = MathHelper.floor((playerBB.maxX + maxRange) / 16.0D);
+        final int minChunkZ = MathHelper.floor((playerBB.minZ - maxRange) / 16.0D);
+        final int maxChunkZ = MathHelper.floor((playerBB.maxZ + maxRange) / 16.0D);
+
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            final double chunkMinX = x << 4;
+            final double chunkMaxX = chunkMinX + 16;
+            final double reachX = Math.max(Math.max(chunkMinX - playerBB.maxX, playerBB.minX - chunkMaxX), 0);
+            final double coverX = Math.max(playerBB.minX - chunkMinX, chunkMaxX - playerBB.maxX);
+            for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                final double chunkMinZ = z << 4;
+                final double chunkMaxZ = chunkMinZ + 16;
+                final double reachZ = Math.max(Math.max(chunkMinZ - playerBB.maxZ, playerBB.minZ - chunkMaxZ), 0);
+                final double coverZ = Math.max(playerBB.minZ - chunkMinZ, chunkMaxZ - playerBB.maxZ);
+
+                final long key = ChunkPos.asLong(x, z);
+                ChunkEntry entry = chunks.get(key);
+                if (entry == null) {
+                    entry = obtainEntry(x, z);
+                    chunks.put(key, entry);
+                }
+                // Activation boxes grow equally along x and z, so the distances are the larger of both axes
+                entry.add(player, MathHelper.floor(Math.max(reachX, reachZ)), MathHelper.ceil(Math.max(coverX, coverZ)));
+            }
+        }
+    }
+
+    private static void activateChunkEntities(ChunkEntry entry, Chunk chunk, long currentTick) {
+        final ClassInheritanceMultiMap<Entity>[] sections = chunk.getEntityLists();
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i].isEmpty()) {
+                continue;
+            }
+            // The lowest and highest sections also hold entities below and above the world
+            final boolean sectionCovered = i > 0 && i < sections.length - 1 && entry.coversSection(i);
+            for (Entity entity : sections[i]) {
+                if (!EntityActivationRange.requiresRangeCheck(entity, currentTick)) {
+                    continue;
+                }
+                final int range = ((IModData_Activation) entity).getActivationRange();
+                if (range + ENTITY_MARGIN < entry.reach) {
+                    continue;
+                }
+                if (sectionCovered && range >= entry.cover + ENTITY_MARGIN) {
+                    ((IModData_Activation) entity).setActivatedTick(currentTick);
+                    continue;
+                }
+                final AxisAlignedBB entityBB = entity.getEntityBoundingBox();
+                for (int p = 0; p < entry.players.size(); p++) {
+                    EntityActivationRange.growBb(rangeBB, entry.players.get(p).getEntityBoundingBox(), range, VERTICAL_RANGE, range);
+                    if (rangeBB.intersectsWith(entityBB)) {
+                        ((IModData_Activation) entity).setActivatedTick(currentTick);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static ChunkEntry obtainEntry(int x, int z) {
+        final ChunkEntry entry;
+        if (usedEntries < entryPool.size()) {
+            entry = entryPool.get(usedEntries);
+        } else {
+            entry = new ChunkEntry();
+            entryPool.add(entry);
+        }
+        usedEntries++;
+        entry.x = x;
+        entry.z = z;
+        entry.reach = Integer.MAX_VALUE;
+        entry.cover = Integer.MAX_VALUE;
+        entry.coverPlayer = null;
+        return entry;
+    }
+
+    static final class ChunkEntry {
+
+        int x;
+        int z;
+        // The smallest activation range with which any player reaches this chunk
+        int reach;
+        // The smallest activation range with which a single player covers this whole chunk
+        int cover;
+        @Nullable EntityPlayer coverPlayer;
+        final List<EntityPlayer> players = new ArrayList<>(4);
+
+        void add(EntityPlayer player, int reach, int cover) {
+            this.players.add(player);
+            if (reach < this.reach) {
+                this.reach = reach;
+            }
+            if (cover < this.cover) {
+                this.cover = cover;
+                this.coverPlayer = player;
+            }
+        }
+
+        boolean coversSection(int section) {
+            if (this.coverPlayer == null) {
+                return false;
+            }
+            final AxisAlignedBB playerBB = this.coverPlayer.getEntityBoundingBox();
+            return playerBB.minY - VERTICAL_RANGE <= section << 4 && playerBB.maxY + VERTICAL_RANGE >= (section << 4) + 16;
+        }
+    }
+
+}
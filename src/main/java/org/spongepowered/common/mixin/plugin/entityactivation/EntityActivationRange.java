@@ -219,17 +219,22 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        for (EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, maxRange);
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+
+        if (((IMixinWorldServer) world).getActiveConfig().getConfig().getEntityActivationRange().useChunkDistanceActivation()) {
+            ChunkDistanceActivation.activateEntities((WorldServer) world, maxRange, currentTick);
+            return;
+        }
 
-            maxRange = Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(SpongeImpl.getServer().getTickCounter());
+        for (EntityPlayer player : world.playerEntities) {
+            ((IModData_Activation) player).setActivatedTick(currentTick);
             growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
 
             int i = MathHelper.floor(maxBB.minX / 16.0D);
@@ -242,42 +247,56 @@ public static void activateEntities(World world) {
                     WorldServer worldserver = (WorldServer) world;
                     Chunk chunk = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i1, j1);
                     if (chunk != null) {
-                        activateChunkEntities(player, chunk);
+                        activateChunkEntities(player, chunk, currentTick);
                     }
                 }
             }
         }
     }
 
+    /**
+     * Activates entities which are always active, and checks whether the
+     * entity is still to be activated by the players in range this tick.
+     *
+     * @param entity The entity to check
+     * @param currentTick The current tick
+     * @return Whether the entity needs to be checked against the players in range
+     */
+    static boolean requiresRangeCheck(Entity entity, long currentTick) {
+        EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
+        if (type == EntityTypes.UNKNOWN) {
+            ((IModData_Activation) entity).setActivatedTick(currentTick);
+            return false;
+        }
+
+        if (currentTick > ((IModData_Activation) entity).getActivatedTick()) {
+            if (((IModData_Activation) entity).getDefaultActivationState()) {
+                ((IModData_Activation) entity).setActivatedTick(currentTick);
+                return false;
+            }
+
+            IModData_Activation spongeEntity = (IModData_Activation) entity;
+            // check if activation cache needs to be updated
+            if (spongeEntity.requiresActivationCacheRefresh()) {
+                EntityActivationRange.initializeEntityActivationState(entity);
+                spongeEntity.requiresActivationCacheRefresh(false);
+            }
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Checks for the activation state of all entities in this chunk.
      *
      * @param chunk Chunk to check for activation
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
+    private static void activateChunkEntities(EntityPlayer player, Chunk chunk, long currentTick) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (Object o : chunk.getEntityLists()[i]) {
                 Entity entity = (Entity) o;
-                EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
-                long currentTick = SpongeImpl.getServer().getTickCounter();
-                if (type == EntityTypes.UNKNOWN) {
-                    ((IModData_Activation) entity).setActivatedTick(currentTick);
-                    continue;
-                }
-
-                if (currentTick > ((IModData_Activation) entity).getActivatedTick()) {
-                    if (((IModData_Activation) entity).getDefaultActivationState()) {
-                        ((IModData_Activation) entity).setActivatedTick(currentTick);
-                        continue;
-                    }
-
-                    IModData_Activation spongeEntity = (IModData_Activation) entity;
-                    // check if activation cache needs to be updated
-                    if (spongeEntity.requiresActivationCacheRefresh()) {
-                        EntityActivationRange.initializeEntityActivationState(entity);
-                        spongeEntity.requiresActivationCacheRefresh(false);
-                    }
+                if (requiresRangeCheck(entity, currentTick)) {
                     // check for entity type overrides
                     byte activationType = ((IModData_Activation) entity).getActivationType();
                     int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
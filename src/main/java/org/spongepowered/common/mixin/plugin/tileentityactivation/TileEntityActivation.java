@@ -28,6 +28,7 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
@@ -48,6 +49,7 @@
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.util.VecHelper;
 
+import java.util.List;
 import java.util.Map;
 
 public class TileEntityActivation {
@@ -108,6 +110,19 @@ public static boolean initializeTileEntityActivationState(TileEntity tileEntity)
     */
     public static void activateTileEntities(WorldServer world) {
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
+        if (((IMixinWorldServer) world).getActiveConfig().getConfig().getTileEntityActivationRange().useChunkDistanceActivation()) {
+            final long currentTick = SpongeImpl.getServer().getTickCounter();
+            final long totalTime = world.getWorldInfo().getWorldTotalTime();
+            for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
+                final Chunk chunk = playerChunkMapEntry.chunk;
+                if (chunk == null || chunk.unloaded || playerChunkMapEntry.players.isEmpty()) {
+                    continue;
+                }
+
+                activateChunkTileEntities(playerChunkMapEntry.players, chunk, currentTick, totalTime);
+            }
+            return;
+        }
         for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
             for (EntityPlayer player : playerChunkMapEntry.players) {
                 final Chunk chunk = playerChunkMapEntry.chunk;
@@ -159,6 +174,95 @@ private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk)
         }
     }
 
+    /**
+     * Checks for the activation state of all tileentities in this chunk,
+     * computing the distance of the chunk to the closest player once.
+     *
+     * <p>Tileentities whose activation range covers the part of the chunk
+     * holding tileentities for one of the players are activated without any
+     * distance checks, and
+     * those out of range of every player are skipped. Only tileentities in
+     * chunks at the edge of their range are checked against each player.
+     * Tileentities which will not tick this tick due to their tick rate are
+     * not checked at all.</p>
+     *
+     * @param players The players watching the chunk
+     * @param chunk Chunk to check for activation
+     * @param currentTick The current server tick
+     * @param totalTime The total time of the world, to check tick rates
+     */
+    private static void activateChunkTileEntities(List<EntityPlayerMP> players, Chunk chunk, long currentTick, long totalTime) {
+        // Bound the distances by the heights tileentities actually occupy,
+        // a column spanning the whole world height is rarely covered by the
+        // activation range of any player
+        int minY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (BlockPos pos : chunk.getTileEntityMap().keySet()) {
+            minY = Math.min(minY, pos.getY());
+            maxY = Math.max(maxY, pos.getY());
+        }
+        if (minY > maxY) {
+            return;
+        }
+
+        // The smallest distance of any tileentity in this chunk to a player,
+        // and the smallest distance to a player covering every one of them
+        double minDistanceSq = Double.MAX_VALUE;
+        double coverDistanceSq = Double.MAX_VALUE;
+        final int chunkMinX = chunk.xPosition << 4;
+        final int chunkMinZ = chunk.zPosition << 4;
+        for (EntityPlayerMP player : players) {
+            final BlockPos playerPos = player.getPosition();
+            final int nearX = Math.max(Math.max(chunkMinX - playerPos.getX(), playerPos.getX() - (chunkMinX + 15)), 0);
+            final int nearZ = Math.max(Math.max(chunkMinZ - playerPos.getZ(), playerPos.getZ() - (chunkMinZ + 15)), 0);
+            final int nearY = Math.max(Math.max(minY - playerPos.getY(), playerPos.getY() - maxY), 0);
+            final int farX = Math.max(playerPos.getX() - chunkMinX, chunkMinX + 15 - playerPos.getX());
+            final int farZ = Math.max(playerPos.getZ() - chunkMinZ, chunkMinZ + 15 - playerPos.getZ());
+            final int farY = Math.max(playerPos.getY() - minY, maxY - playerPos.getY());
+            minDistanceSq = Math.min(minDistanceSq, (double) nearX * nearX + (double) nearY * nearY + (double) nearZ * nearZ);
+            coverDistanceSq = Math.min(coverDistanceSq, (double) farX * farX + (double) farY * farY + (double) farZ * farZ);
+        }
+
+        for (TileEntity tileEntity : chunk.getTileEntityMap().values()) {
+            if (!(tileEntity instanceof ITickable) || ((IModData_Activation) tileEntity).getActivatedTick() == currentTick) {
+                // already activated
+                continue;
+            }
+
+            final IModData_Activation spongeEntity = (IModData_Activation) tileEntity;
+            if (currentTick > spongeEntity.getActivatedTick()) {
+                if (spongeEntity.getDefaultActivationState()) {
+                    spongeEntity.setActivatedTick(currentTick);
+                    continue;
+                }
+                if (totalTime % spongeEntity.getSpongeTickRate() != 0L) {
+                    // won't tick this tick regardless of its activation
+                    continue;
+                }
+
+                // check if activation cache needs to be updated
+                if (spongeEntity.requiresActivationCacheRefresh()) {
+                    TileEntityActivation.initializeTileEntityActivationState(tileEntity);
+                    spongeEntity.requiresActivationCacheRefresh(false);
+                }
+
+                // A rounded distance is within range if the exact distance is less than half a block beyond it
+                final double rangeSq = (spongeEntity.getActivationRange() + 0.5D) * (spongeEntity.getActivationRange() + 0.5D);
+                if (coverDistanceSq < rangeSq) {
+                    spongeEntity.setActivatedTick(currentTick);
+                } else if (minDistanceSq < rangeSq) {
+                    final BlockPos tilePos = tileEntity.getPos();
+                    for (EntityPlayerMP player : players) {
+                        if (player.getPosition().distanceSq(tilePos) < rangeSq) {
+                            spongeEntity.setActivatedTick(currentTick);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Checks if the tileentity is active for this tick.
      *
@@ -171,8 +275,13 @@ public static boolean checkIfActive(TileEntity tileEntity) {
         }
 
         final World world = tileEntity.getWorld();
-        long currentTick = SpongeImpl.getServer().getTickCounter();
         IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
+        // check tick rate first, tileentities off their tick rate are never active
+        if (world.getWorldInfo().getWorldTotalTime() % spongeTileEntity.getSpongeTickRate() != 0L) {
+            return false;
+        }
+
+        long currentTick = SpongeImpl.getServer().getTickCounter();
         boolean isActive = spongeTileEntity.getActivatedTick() >= currentTick || spongeTileEntity.getDefaultActivationState();
 
         // Should this entity tick?
@@ -195,11 +304,6 @@ public static boolean checkIfActive(TileEntity tileEntity) {
             isActive = true;
         }
 
-        // check tick rate
-        if (isActive && world.getWorldInfo().getWorldTotalTime() % spongeTileEntity.getSpongeTickRate() != 0L) {
-            isActive = false;
-        }
-
         return isActive;
     }
 
@@ -24,27 +24,24 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The bounded executor of asynchronous tasks, created on first use so the global config is loaded
+    private volatile AsyncTaskExecutor executor;
+    // Tasks waiting for their delay or interval, in milliseconds
+    private final TimingWheel<ScheduledTask> timeWheel = new TimingWheel<>(floorMillis(System.nanoTime()));
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -55,61 +52,49 @@ public class AsyncScheduler extends SchedulerBase {
         thread.start();
     }
 
-    ExecutorService getExecutor() {
-        return this.executor;
+    AsyncTaskExecutor getExecutor() {
+        AsyncTaskExecutor executor = this.executor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.executor;
+                if (executor == null) {
+                    this.executor = executor = new AsyncTaskExecutor(SpongeImpl.getGlobalConfig().getConfig().getAsyncExecutor());
+                }
+            }
+        }
+        return executor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
-            recalibrateMinimumTimeout();
             this.runTick();
         }
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
-        } finally {
-            this.lock.unlock();
+    /**
+     * Gets the time to wait until the next task needs to be processed.
+     *
+     * @return The timeout in nanoseconds
+     */
+    private long getMinimumTimeout() {
+        if (this.hasSubmittedTasks()) {
+            return 0;
         }
+        final long deadline = this.timeWheel.nextDeadline();
+        if (deadline == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, deadline * NANOS_PER_MILLI - System.nanoTime());
     }
 
     @Override
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            final long timeout = this.getMinimumTimeout();
+            if (timeout > 0) {
+                this.condition.await(timeout, TimeUnit.NANOSECONDS);
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -119,18 +104,38 @@ protected void preTick() {
     }
 
     @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
+    protected void finallyPostTick() {
+        this.lock.unlock();
     }
 
     @Override
-    protected void finallyPostTick() {
-        this.lock.unlock();
+    protected void queueTask(ScheduledTask task) {
+        long deadline = ceilMillis(task.nextExecutionTimestamp());
+        if (task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING) {
+            // The previous execution has not started yet, check again later
+            deadline = Math.max(deadline, this.timeWheel.getTime() + 1);
+        }
+        task.queueEntry = this.timeWheel.add(task, deadline);
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
-        this.executor.submit(runnable);
+    protected void pollDueTasks(Consumer<ScheduledTask> consumer) {
+        this.timeWheel.advance(floorMillis(System.nanoTime()), consumer);
+    }
+
+    @Override
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        try {
+            this.getExecutor().execute(task.getOwner(), runnable, e -> onTaskRejected(task, e));
+        } catch (RejectedExecutionException e) {
+            onTaskRejected(task, e);
+        }
+    }
+
+    private static void onTaskRejected(ScheduledTask task, RejectedExecutionException e) {
+        SpongeImpl.getLogger().warn("The Scheduler could not run the task {} owned by {}: {}", task.getName(), task.getOwner(), e.getMessage());
+        // Try again on the next interval of repeating tasks
+        task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
     }
 
     @Override
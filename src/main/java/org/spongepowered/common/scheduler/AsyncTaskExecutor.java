@@ -0,0 +1,217 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import co.aikar.timings.TimingsStatistics;
+import co.aikar.util.JSONUtil;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonObject;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncExecutorCategory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The executor running all asynchronous tasks, backed by a bounded
+ * work-stealing pool.
+ *
+ * <p>Tasks are queued per plugin, so that a single plugin can neither run
+ * on more than a configured number of threads at once, nor queue an
+ * unbounded number of tasks. The queued, running and completed tasks and
+ * the time tasks spent waiting are reported through
+ * {@link TimingsStatistics}.</p>
+ */
+final class AsyncTaskExecutor {
+
+    // Upper bounds, in milliseconds, of the wait time histogram buckets
+    private static final long[] WAIT_BUCKETS = {1, 10, 100, 1000, 10000};
+
+    private final ForkJoinPool pool;
+    private final int maxRunning;
+    private final int maxQueued;
+    private final boolean discardOldest;
+    private final Map<String, PluginQueue> queues = Maps.newConcurrentMap();
+
+    AsyncTaskExecutor(AsyncExecutorCategory config) {
+        this(config.getThreadCount() > 0 ? config.getThreadCount() : Math.max(8, 2 * Runtime.getRuntime().availableProcessors()),
+                config.getMaxRunningTasksPerPlugin(), config.getMaxQueuedTasksPerPlugin(), config.isDiscardOldestOnRejection());
+    }
+
+    AsyncTaskExecutor(int threads, int maxRunningPerPlugin, int maxQueuedPerPlugin, boolean discardOldest) {
+        final AtomicInteger threadId = new AtomicInteger();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge Async Task Thread #" + threadId.incrementAndGet());
+            return thread;
+        }, (thread, throwable) -> SpongeImpl.getLogger().error("Uncaught exception in {}", thread.getName(), throwable), true);
+        this.maxRunning = maxRunningPerPlugin > 0 ? maxRunningPerPlugin : threads;
+        this.maxQueued = maxQueuedPerPlugin > 0 ? maxQueuedPerPlugin : Integer.MAX_VALUE;
+        this.discardOldest = discardOldest;
+        TimingsStatistics.register("async-tasks", this::export);
+    }
+
+    /**
+     * Submits a task on behalf of the given plugin.
+     *
+     * @param plugin The plugin owning the task
+     * @param runnable The task
+     * @param onDiscarded Called instead of running the task if it is
+     *     discarded from the queue to make room for a newer task
+     * @throws RejectedExecutionException If the queue of the plugin is full
+     */
+    void execute(PluginContainer plugin, Runnable runnable, Consumer<RejectedExecutionException> onDiscarded) {
+        this.getQueue(plugin).submit(runnable, onDiscarded);
+    }
+
+    private PluginQueue getQueue(PluginContainer plugin) {
+        return this.queues.computeIfAbsent(plugin.getId(), PluginQueue::new);
+    }
+
+    private JsonObject export() {
+        return JSONUtil.mapArrayToObject(this.queues.values(), (queue) -> JSONUtil.singleObjectPair(queue.pluginId, queue.export()));
+    }
+
+    private final class PluginQueue {
+
+        final String pluginId;
+        final Queue<QueuedTask> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final LongAdder completed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder[] waitHistogram = new LongAdder[WAIT_BUCKETS.length + 1];
+
+        PluginQueue(String pluginId) {
+            this.pluginId = pluginId;
+            for (int i = 0; i < this.waitHistogram.length; i++) {
+                this.waitHistogram[i] = new LongAdder();
+            }
+        }
+
+        void submit(Runnable runnable, Consumer<RejectedExecutionException> onDiscarded) {
+            QueuedTask discarded = null;
+            if (this.queued.incrementAndGet() > AsyncTaskExecutor.this.maxQueued) {
+                discarded = AsyncTaskExecutor.this.discardOldest ? this.pending.poll() : null;
+                this.rejected.increment();
+                this.queued.decrementAndGet();
+                if (discarded == null) {
+                    throw new RejectedExecutionException("The asynchronous task queue of " + this.pluginId + " is full");
+                }
+            }
+            this.pending.add(new QueuedTask(runnable, onDiscarded));
+            this.schedule();
+            if (discarded != null) {
+                discarded.discard(new RejectedExecutionException("An asynchronous task of " + this.pluginId
+                        + " was discarded because its queue is full"));
+            }
+        }
+
+        /**
+         * Starts running queued tasks, as long as the plugin is below its
+         * limit of running tasks.
+         */
+        private void schedule() {
+            while (!this.pending.isEmpty()) {
+                final int running = this.running.get();
+                if (running >= AsyncTaskExecutor.this.maxRunning) {
+                    // A running task will schedule the next one when it completes
+                    return;
+                }
+                if (this.running.compareAndSet(running, running + 1)) {
+                    AsyncTaskExecutor.this.pool.execute(this::runNext);
+                    return;
+                }
+            }
+        }
+
+        private void runNext() {
+            final QueuedTask task = this.pending.poll();
+            try {
+                if (task != null) {
+                    this.queued.decrementAndGet();
+                    this.recordWait(System.nanoTime() - task.queuedAt);
+                    task.runnable.run();
+                    this.completed.increment();
+                }
+            } catch (Throwable t) {
+                this.completed.increment();
+                SpongeImpl.getLogger().error("An asynchronous task of {} threw an exception", this.pluginId, t);
+            } finally {
+                this.running.decrementAndGet();
+                // Resubmit rather than looping, so other plugins get their turn
+                this.schedule();
+            }
+        }
+
+        private void recordWait(long nanos) {
+            final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < WAIT_BUCKETS.length && millis >= WAIT_BUCKETS[bucket]) {
+                bucket++;
+            }
+            this.waitHistogram[bucket].increment();
+        }
+
+        JsonObject export() {
+            return JSONUtil.objectBuilder()
+                    .add("queued", this.queued.get())
+                    .add("running", this.running.get())
+                    .add("completed", this.completed.sum())
+                    .add("rejected", this.rejected.sum())
+                    .add("wait", JSONUtil.mapArray(this.waitHistogram, LongAdder::sum))
+                    .build();
+        }
+    }
+
+    private static final class QueuedTask {
+
+        final Runnable runnable;
+        final Consumer<RejectedExecutionException> onDiscarded;
+        final long queuedAt = System.nanoTime();
+
+        QueuedTask(Runnable runnable, Consumer<RejectedExecutionException> onDiscarded) {
+            this.runnable = runnable;
+            this.onDiscarded = onDiscarded;
+        }
+
+        void discard(RejectedExecutionException e) {
+            try {
+                this.onDiscarded.accept(e);
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("Failed to handle a discarded asynchronous task", t);
+            }
+        }
+    }
+}
@@ -36,6 +36,8 @@
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -54,6 +56,8 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    // The position of the task in its scheduler's queue, only accessed from the scheduler thread
+    @Nullable TimingWheel.Entry<ScheduledTask> queueEntry;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -134,7 +138,10 @@ public boolean cancel() {
         if (this.getState() != ScheduledTask.ScheduledTaskState.RUNNING) {
             success = true;
         }
-        this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        if (this.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+            SpongeScheduler.getInstance().cancel(this);
+        }
         return success;
     }
 
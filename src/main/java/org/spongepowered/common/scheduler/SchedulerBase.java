@@ -35,13 +35,22 @@
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 abstract class SchedulerBase {
 
+    static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks submitted or cancelled from any thread, applied by the scheduler thread on the next tick
+    private final Queue<ScheduledTask> submittedTasks = new ConcurrentLinkedQueue<>();
+    private final Queue<ScheduledTask> cancelledTasks = new ConcurrentLinkedQueue<>();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -49,6 +58,14 @@ protected SchedulerBase(ScheduledTask.TaskSynchronicity type) {
         this.taskNameFmt = "%s-" + (type == ScheduledTask.TaskSynchronicity.SYNCHRONOUS ? "S" : "A") + "-%d";
     }
 
+    static long floorMillis(long nanos) {
+        return Math.floorDiv(nanos, NANOS_PER_MILLI);
+    }
+
+    static long ceilMillis(long nanos) {
+        return -Math.floorDiv(-nanos, NANOS_PER_MILLI);
+    }
+
     protected String nextName(PluginContainer plugin) {
         return String.format(this.taskNameFmt, plugin.getId(), this.sequenceNumber++);
     }
@@ -77,6 +94,28 @@ protected long getTimestamp(ScheduledTask task) {
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
         this.taskMap.put(task.getUniqueId(), task);
+        this.submittedTasks.add(task);
+    }
+
+    /**
+     * Notifies the scheduler that the task was cancelled, so it can be
+     * removed on the next call to {@link #runTick} without waiting for it to
+     * become due.
+     *
+     * @param task The cancelled task
+     */
+    void cancelTask(ScheduledTask task) {
+        this.cancelledTasks.add(task);
+    }
+
+    /**
+     * Gets whether tasks were submitted since the last call to
+     * {@link #runTick}.
+     *
+     * @return Whether tasks were submitted
+     */
+    protected boolean hasSubmittedTasks() {
+        return !this.submittedTasks.isEmpty();
     }
 
     /**
@@ -99,13 +138,25 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks that are due.
      */
     protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            ScheduledTask task;
+            while ((task = this.cancelledTasks.poll()) != null) {
+                this.dequeueTask(task);
+                this.removeTask(task);
+            }
+            while ((task = this.submittedTasks.poll()) != null) {
+                if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                    this.removeTask(task);
+                } else {
+                    this.queueTask(task);
+                }
+            }
+            this.pollDueTasks(this::processTask);
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -113,6 +164,35 @@ protected final void runTick() {
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.stopTimingIfSync();
     }
 
+    /**
+     * Queues the task to be passed to {@link #processTask} once its next
+     * execution is due. Only called from the scheduler thread.
+     *
+     * @param task The task to queue
+     */
+    protected abstract void queueTask(ScheduledTask task);
+
+    /**
+     * Removes the task from the queue of tasks waiting to become due. Only
+     * called from the scheduler thread.
+     *
+     * @param task The task to dequeue
+     */
+    protected void dequeueTask(ScheduledTask task) {
+        if (task.queueEntry != null) {
+            task.queueEntry.remove();
+            task.queueEntry = null;
+        }
+    }
+
+    /**
+     * Passes every queued task that is due to the consumer, removing it from
+     * the queue. Only called from the scheduler thread.
+     *
+     * @param consumer The consumer of due tasks
+     */
+    protected abstract void pollDueTasks(Consumer<ScheduledTask> consumer);
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -138,6 +218,7 @@ protected void finallyPostTick() {
      * @param task The task to process
      */
     protected void processTask(ScheduledTask task) {
+        task.queueEntry = null;
         // If the task is now slated to be cancelled, we just remove it as if it
         // no longer exists.
         if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
@@ -166,8 +247,11 @@ protected void processTask(ScheduledTask task) {
             // If task is one time shot, remove it from the map.
             if (task.period == 0L) {
                 this.removeTask(task);
+                return;
             }
         }
+        // Wait for the next execution, or for the task to start running
+        this.queueTask(task);
     }
 
     /**
@@ -176,7 +260,7 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(() -> {
+        this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
             task.getTimingsHandler().startTimingIfSync();
             try {
@@ -192,8 +276,9 @@ protected void startTask(final ScheduledTask task) {
     /**
      * Actually run the runnable that will begin the task
      *
+     * @param task The task being started
      * @param runnable The runnable to run
      */
-    protected abstract void executeTaskRunnable(Runnable runnable);
+    protected abstract void executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
@@ -34,7 +34,6 @@
 import org.spongepowered.api.scheduler.Scheduler;
 import org.spongepowered.api.scheduler.SpongeExecutorService;
 import org.spongepowered.api.scheduler.Task;
-import org.spongepowered.api.util.Functional;
 import org.spongepowered.common.SpongeImpl;
 
 import java.util.Iterator;
@@ -45,6 +44,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -184,6 +184,10 @@ void submit(ScheduledTask task) {
         getDelegate(task).addTask(task);
     }
 
+    void cancel(ScheduledTask task) {
+        getDelegate(task).cancelTask(task);
+    }
+
     /**
      * Ticks the synchronous scheduler.
      */
@@ -192,6 +196,32 @@ public void tickSyncScheduler() {
     }
 
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
+        return this.submitAsyncTask(SpongeImpl.getPlugin(), callable);
+    }
+
+    /**
+     * Runs the callable on the asynchronous executor, counting it against
+     * the limits of the given plugin.
+     *
+     * @param plugin The plugin the task is run for
+     * @param callable The task
+     * @param <T> The result type
+     * @return The future result, completed exceptionally if the plugin has
+     *     too many queued tasks or the task is discarded from its queue
+     */
+    public <T> CompletableFuture<T> submitAsyncTask(PluginContainer plugin, Callable<T> callable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            this.asyncScheduler.getExecutor().execute(plugin, () -> {
+                try {
+                    future.complete(callable.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }, future::completeExceptionally);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
     }
 }
@@ -24,10 +24,16 @@
  */
 package org.spongepowered.common.scheduler;
 
+import java.util.function.Consumer;
+
 public class SyncScheduler extends SchedulerBase {
 
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // Tasks waiting for a delay or interval in ticks
+    private final TimingWheel<ScheduledTask> tickWheel = new TimingWheel<>(0L);
+    // Tasks waiting for a delay or interval in real time, in milliseconds
+    private final TimingWheel<ScheduledTask> timeWheel = new TimingWheel<>(floorMillis(System.nanoTime()));
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
@@ -62,7 +68,23 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
+    protected void queueTask(ScheduledTask task) {
+        final boolean isTicks = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks;
+        if (isTicks) {
+            task.queueEntry = this.tickWheel.add(task, task.nextExecutionTimestamp());
+        } else {
+            task.queueEntry = this.timeWheel.add(task, ceilMillis(task.nextExecutionTimestamp()));
+        }
+    }
+
+    @Override
+    protected void pollDueTasks(Consumer<ScheduledTask> consumer) {
+        this.tickWheel.advance(this.counter, consumer);
+        this.timeWheel.advance(floorMillis(System.nanoTime()), consumer);
+    }
+
+    @Override
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         runnable.run();
     }
 
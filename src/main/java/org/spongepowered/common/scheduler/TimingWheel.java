@@ -0,0 +1,257 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A hierarchical timing wheel holding elements until a deadline, expressed
+ * in an arbitrary time unit, has passed.
+ *
+ * <p>Adding and removing an element is O(1), and advancing the wheel only
+ * touches the elements that are due, plus elements cascading from a coarser
+ * level into a finer one. Each of the {@link #LEVELS} levels has
+ * {@link #SLOTS} slots, each slot of a level covering a full rotation of the
+ * level below it. Elements further in the future than the coarsest level
+ * covers are kept in an overflow list which is re-examined every full
+ * rotation of that level.</p>
+ *
+ * <p>This class is not thread safe.</p>
+ *
+ * @param <E> The element type
+ */
+final class TimingWheel<E> {
+
+    private static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    static final int LEVELS = 4;
+
+    private final Entry<E>[][] slots;
+    // Elements that were due when they were added
+    private final Entry<E> expired = new Entry<>(null, null, 0);
+    // Elements too far in the future to fit in the wheel
+    private final Entry<E> overflow = new Entry<>(null, null, 0);
+    private long time;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long time) {
+        this.time = time;
+        this.slots = new Entry[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                this.slots[level][slot] = new Entry<>(null, null, 0);
+            }
+        }
+    }
+
+    /**
+     * Gets the time the wheel was last advanced to.
+     *
+     * @return The current time
+     */
+    long getTime() {
+        return this.time;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an element to the wheel. Elements with a deadline that is not
+     * after the current time are returned by the next call to
+     * {@link #advance(long, Consumer)}.
+     *
+     * @param element The element
+     * @param deadline The time at which the element is due
+     * @return The entry, which can be used to remove the element
+     */
+    Entry<E> add(E element, long deadline) {
+        final Entry<E> entry = new Entry<>(this, element, deadline);
+        this.link(entry);
+        this.size++;
+        return entry;
+    }
+
+    /**
+     * Advances the wheel to the given time, passing every element that is
+     * due to the consumer. The consumer may add elements to the wheel.
+     *
+     * @param time The new time
+     * @param consumer The consumer of due elements
+     */
+    void advance(long time, Consumer<E> consumer) {
+        this.emit(this.expired, consumer);
+        while (this.time - time < 0) {
+            if (this.size == 0) {
+                // Nothing left to cascade, skip ahead
+                this.time = time;
+                break;
+            }
+            this.time++;
+            this.cascade();
+            this.emit(this.slots[0][(int) this.time & SLOT_MASK], consumer);
+            // Cascaded elements that are due right now
+            this.emit(this.expired, consumer);
+        }
+    }
+
+    /**
+     * Gets the earliest time at which advancing the wheel may return or
+     * cascade elements. Advancing the wheel to an earlier time is a no-op.
+     *
+     * @return The next time of interest, or {@link Long#MAX_VALUE} if the
+     *     wheel is empty
+     */
+    long nextDeadline() {
+        if (this.size == 0) {
+            return Long.MAX_VALUE;
+        }
+        if (this.expired.next != this.expired) {
+            return this.time;
+        }
+        long deadline = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = level * SLOT_BITS;
+            final long position = this.time >> shift;
+            for (int offset = 1; offset <= SLOTS; offset++) {
+                final Entry<E> slot = this.slots[level][(int) (position + offset) & SLOT_MASK];
+                if (slot.next != slot) {
+                    deadline = Math.min(deadline, (position + offset) << shift);
+                    break;
+                }
+            }
+        }
+        if (this.overflow.next != this.overflow) {
+            final int shift = LEVELS * SLOT_BITS;
+            deadline = Math.min(deadline, ((this.time >> shift) + 1) << shift);
+        }
+        return deadline;
+    }
+
+    private void cascade() {
+        if ((this.time & ((1L << (LEVELS * SLOT_BITS)) - 1)) == 0) {
+            this.relink(this.overflow);
+        }
+        // Coarser levels first, so their elements can cascade further down
+        for (int level = LEVELS - 1; level > 0; level--) {
+            final int shift = level * SLOT_BITS;
+            if ((this.time & ((1L << shift) - 1)) == 0) {
+                this.relink(this.slots[level][(int) (this.time >> shift) & SLOT_MASK]);
+            }
+        }
+    }
+
+    private void emit(Entry<E> head, Consumer<E> consumer) {
+        Entry<E> entry = this.detach(head);
+        while (entry != null) {
+            final Entry<E> next = entry.next;
+            entry.prev = entry.next = null;
+            this.size--;
+            consumer.accept(entry.element);
+            entry = next;
+        }
+    }
+
+    private void relink(Entry<E> head) {
+        Entry<E> entry = this.detach(head);
+        while (entry != null) {
+            final Entry<E> next = entry.next;
+            this.link(entry);
+            entry = next;
+        }
+    }
+
+    /**
+     * Empties the given list, so that elements can be added to it while its
+     * previous elements are being processed.
+     *
+     * @return The first element of the detached list, or null if it was empty
+     */
+    @Nullable
+    private Entry<E> detach(Entry<E> head) {
+        if (head.next == head) {
+            return null;
+        }
+        final Entry<E> first = head.next;
+        head.prev.next = null;
+        head.next = head.prev = head;
+        return first;
+    }
+
+    private void link(Entry<E> entry) {
+        final long delta = entry.deadline - this.time;
+        final Entry<E> head;
+        if (delta <= 0) {
+            head = this.expired;
+        } else {
+            final int level = (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+            if (level >= LEVELS) {
+                head = this.overflow;
+            } else {
+                head = this.slots[level][(int) (entry.deadline >> (level * SLOT_BITS)) & SLOT_MASK];
+            }
+        }
+        entry.prev = head.prev;
+        entry.next = head;
+        head.prev.next = entry;
+        head.prev = entry;
+    }
+
+    static final class Entry<E> {
+
+        @Nullable private final TimingWheel<E> wheel;
+        @Nullable final E element;
+        final long deadline;
+        @Nullable Entry<E> prev = this;
+        @Nullable Entry<E> next = this;
+
+        Entry(@Nullable TimingWheel<E> wheel, @Nullable E element, long deadline) {
+            this.wheel = wheel;
+            this.element = element;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Removes the element from the wheel, if it is still in it.
+         *
+         * @return Whether the element was removed
+         */
+        boolean remove() {
+            if (this.wheel == null || this.next == null) {
+                return false;
+            }
+            this.prev.next = this.next;
+            this.next.prev = this.prev;
+            this.prev = this.next = null;
+            this.wheel.size--;
+            return true;
+        }
+    }
+}
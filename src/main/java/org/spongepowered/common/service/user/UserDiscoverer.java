@@ -44,6 +44,7 @@
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayerMP;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.storage.PlayerDataWriter;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -199,6 +200,7 @@ private static User getFromStoredData(org.spongepowered.api.profile.GameProfile
 
         final User user = create((GameProfile) profile);
 
+        PlayerDataWriter.await(dataFile.toPath());
         try {
             ((SpongeUser) user).readFromNbt(CompressedStreamTools.readCompressed(new FileInputStream(dataFile)));
         } catch (IOException e) {
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.chat;
+
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.util.text.ITextComponent;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.channel.MessageChannel;
+import org.spongepowered.api.text.chat.ChatType;
+import org.spongepowered.api.text.chat.ChatTypes;
+import org.spongepowered.common.interfaces.network.play.server.IMixinSPacketChat;
+import org.spongepowered.common.text.SpongeTexts;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reuses the chat packet of the last sent message while the same message
+ * is sent to further players, as a {@link MessageChannel} does when
+ * broadcasting a message that it does not transform per member. The
+ * message is then only converted once, and the packet is only serialized
+ * once for all of its recipients.
+ *
+ * <p>Translatable text is sent as a translation and translated by each
+ * client, so the same packet can be shared regardless of the locale of the
+ * recipients.</p>
+ */
+public final class ChatPacketCache {
+
+    @Nullable private static volatile CachedPacket last;
+
+    private ChatPacketCache() {
+    }
+
+    public static SPacketChat getPacket(Text message, ChatType type) {
+        final CachedPacket cached = last;
+        if (cached != null && cached.message == message && cached.type == type) {
+            ((IMixinSPacketChat) cached.packet).setShared();
+            return cached.packet;
+        }
+        ITextComponent component = SpongeTexts.toComponent(message);
+        if (type == ChatTypes.ACTION_BAR) {
+            component = SpongeTexts.fixActionBarFormatting(component);
+        }
+        final SPacketChat packet = new SPacketChat(component, ((SpongeChatType) type).getByteId());
+        last = new CachedPacket(message, type, packet);
+        return packet;
+    }
+
+    private static final class CachedPacket {
+
+        final Text message;
+        final ChatType type;
+        final SPacketChat packet;
+
+        CachedPacket(Text message, ChatType type, SPacketChat packet) {
+            this.message = message;
+            this.type = type;
+            this.packet = packet;
+        }
+    }
+}
@@ -31,6 +31,10 @@
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
@@ -59,6 +63,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -70,6 +75,8 @@
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
  */
@@ -81,6 +88,8 @@ public class SelectorResolver {
     private static final Set<ArgumentType<?>> LOCATION_BASED_ARGUMENTS;
     private static final Function<Number, Double> TO_DOUBLE = Number::doubleValue;
     private static final Collection<SelectorType> INFINITE_TYPES = ImmutableSet.of(SelectorTypes.ALL_ENTITIES, SelectorTypes.ALL_PLAYERS);
+    // Entities are only moved between chunk lists once per tick, so they may sit slightly outside of their chunk
+    private static final double ENTITY_MARGIN = 2.0D;
 
     static {
         ImmutableSet.Builder<ArgumentType<?>> builder = ImmutableSet.builder();
@@ -116,6 +125,9 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
     private final boolean alwaysUsePosition;
+    // The box every selected entity must be in, or null if the selector does not bound x and z
+    @Nullable private final Vector3d searchMin;
+    @Nullable private final Vector3d searchMax;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
         this(extents, null, null, selector, force);
@@ -137,6 +149,9 @@ private SelectorResolver(Collection<? extends Extent> extents, Vector3d position
         this.selector = checkNotNull(selector);
         this.selectorFilter = makeFilter();
         this.alwaysUsePosition = force;
+        final Vector3d[] bounds = makeSearchBounds();
+        this.searchMin = bounds == null ? null : bounds[0];
+        this.searchMax = bounds == null ? null : bounds[1];
     }
 
     private Predicate<Entity> makeFilter() {
@@ -144,14 +159,16 @@ private Predicate<Entity> makeFilter() {
         final Selector sel = this.selector;
         Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
         List<Predicate<Entity>> filters = Lists.newArrayList();
+        // Filters that only read fields of the entity come first, the ones
+        // backed by data manipulators are only tested on what remains
         addTypeFilters(filters);
         addDimensionFilters(position, filters);
         addRadiusFilters(position, filters);
-        addLevelFilters(filters);
-        addGamemodeFilters(filters);
-        addNameFilters(filters);
         addRotationFilters(filters);
         addTeamFilters(filters);
+        addNameFilters(filters);
+        addLevelFilters(filters);
+        addGamemodeFilters(filters);
         addScoreFilters(filters);
         SelectorType selectorType = sel.getType();
         Optional<Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
@@ -167,6 +184,43 @@ private Predicate<Entity> makeFilter() {
         return Functional.predicateAnd(filters);
     }
 
+    @Nullable
+    private Vector3d[] makeSearchBounds() {
+        final Selector sel = this.selector;
+        final Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        double minX = Double.NEGATIVE_INFINITY, minY = Double.NEGATIVE_INFINITY, minZ = Double.NEGATIVE_INFINITY;
+        double maxX = Double.POSITIVE_INFINITY, maxY = Double.POSITIVE_INFINITY, maxZ = Double.POSITIVE_INFINITY;
+        Optional<Integer> radiusMax = sel.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            final int radius = radiusMax.get();
+            minX = position.getX() - radius;
+            minY = position.getY() - radius;
+            minZ = position.getZ() - radius;
+            maxX = position.getX() + radius;
+            maxY = position.getY() + radius;
+            maxZ = position.getZ() + radius;
+        }
+        final Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+        final Vector3d boxMin = position.min(position.add(boxDimensions));
+        final Vector3d boxMax = position.max(position.add(boxDimensions));
+        if (sel.has(ArgumentTypes.DIMENSION.x())) {
+            minX = Math.max(minX, boxMin.getX());
+            maxX = Math.min(maxX, boxMax.getX());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.y())) {
+            minY = Math.max(minY, boxMin.getY());
+            maxY = Math.min(maxY, boxMax.getY());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.z())) {
+            minZ = Math.max(minZ, boxMin.getZ());
+            maxZ = Math.min(maxZ, boxMax.getZ());
+        }
+        if (Double.isInfinite(minX) || Double.isInfinite(maxX) || Double.isInfinite(minZ) || Double.isInfinite(maxZ)) {
+            return null;
+        }
+        return new Vector3d[] {new Vector3d(minX, minY, minZ), new Vector3d(maxX, maxY, maxZ)};
+    }
+
     private void addDimensionFilters(final Vector3d position, List<Predicate<Entity>> filters) {
         Selector sel = this.selector;
         Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
@@ -350,7 +404,7 @@ public Set<Entity> resolve() {
         int count = 0;
         ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
         for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
+            Collection<Entity> allEntities = getCandidates(extent);
             if (selectorType == SelectorTypes.RANDOM) {
                 List<Entity> entityList = new ArrayList<>(allEntities);
                 Collections.shuffle(entityList);
@@ -363,14 +417,57 @@ public Set<Entity> resolve() {
                 }
                 entities.add(e);
                 count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
+                if (maxToSelect != 0 && count >= maxToSelect) {
+                    return entities.build();
                 }
             }
         }
         return entities.build();
     }
 
+    /**
+     * Gets the entities of the extent that may match the selector. If the
+     * selector bounds the search horizontally, only the entity lists of the
+     * loaded chunks within those bounds are visited.
+     */
+    private Collection<Entity> getCandidates(Extent extent) {
+        if (this.searchMin == null || this.searchMax == null || !(extent instanceof WorldServer)) {
+            return extent.getEntities();
+        }
+        final WorldServer world = (WorldServer) extent;
+        final int minChunkX = MathHelper.floor((this.searchMin.getX() - ENTITY_MARGIN) / 16.0D);
+        final int maxChunkX = MathHelper.floor((this.searchMax.getX() + ENTITY_MARGIN) / 16.0D);
+        final int minChunkZ = MathHelper.floor((this.searchMin.getZ() - ENTITY_MARGIN) / 16.0D);
+        final int maxChunkZ = MathHelper.floor((this.searchMax.getZ() + ENTITY_MARGIN) / 16.0D);
+        final long chunkCount = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (chunkCount > world.getChunkProvider().getLoadedChunkCount()) {
+            // Looking up every chunk in the box is more work than walking all loaded entities
+            return extent.getEntities();
+        }
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+        final List<Entity> candidates = new ArrayList<>();
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(x, z);
+                if (chunk == null) {
+                    continue;
+                }
+                final ClassInheritanceMultiMap<net.minecraft.entity.Entity>[] sections = chunk.getEntityLists();
+                // The lowest and highest sections also hold entities below and above the world
+                final int minSection = Double.isInfinite(this.searchMin.getY()) ? 0
+                        : MathHelper.clamp(MathHelper.floor((this.searchMin.getY() - ENTITY_MARGIN) / 16.0D), 0, sections.length - 1);
+                final int maxSection = Double.isInfinite(this.searchMax.getY()) ? sections.length - 1
+                        : MathHelper.clamp(MathHelper.floor((this.searchMax.getY() + ENTITY_MARGIN) / 16.0D), 0, sections.length - 1);
+                for (int i = minSection; i <= maxSection; i++) {
+                    for (net.minecraft.entity.Entity entity : sections[i]) {
+                        candidates.add((Entity) entity);
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
     private Set<? extends Extent> getExtentSet() {
         if (!this.alwaysUsePosition && Collections.disjoint(getArgumentTypes(this.selector.getArguments()), LOCATION_BASED_ARGUMENTS)) {
             return ImmutableSet.copyOf(SpongeImpl.getGame().getServer().getWorlds());
@@ -0,0 +1,279 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.interfaces.IMixinChunk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * The map of loaded chunks of a chunk provider, which additionally keeps
+ * the chunks queued for unload ordered by when they may be unloaded, and
+ * groups the loaded chunks by the region file they are stored in.
+ *
+ * <p>Lookups are cached for the 4x4 chunk neighbourhood last accessed, so
+ * alternating between neighbouring chunks does not evict the cache the way
+ * a single cached entry would.</p>
+ *
+ * <p>Chunks must only be removed through {@link #remove(long)}, as
+ * removing them through the iterators of this map would leave them in
+ * their region.</p>
+ */
+public final class ChunkRegistry extends Long2ObjectOpenHashMap<Chunk> {
+
+    private static final long serialVersionUID = -3523287478467357634L;
+
+    private static final int CACHE_SIZE = 16;
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+
+    private final transient long[] cacheKeys = new long[CACHE_SIZE];
+    private final transient Chunk[] cacheValues = new Chunk[CACHE_SIZE];
+    private final transient Long2ObjectMap<Region> regions = new Long2ObjectOpenHashMap<>();
+    private final transient PriorityQueue<UnloadCandidate> unloadQueue = new PriorityQueue<>();
+    private final transient Set<Chunk> queuedForUnload = Sets.newIdentityHashSet();
+
+    private static int cacheIndex(long key) {
+        // x is stored in the lower and z in the upper half of the key
+        return (((int) key & 3) << 2) | ((int) (key >>> 32) & 3);
+    }
+
+    private static long regionKey(long key) {
+        return ChunkPos.asLong((int) key >> REGION_SHIFT, (int) (key >>> 32) >> REGION_SHIFT);
+    }
+
+    @Override
+    public Chunk get(long key) {
+        final int index = cacheIndex(key);
+        Chunk chunk = this.cacheValues[index];
+        if (chunk != null && this.cacheKeys[index] == key) {
+            return chunk;
+        }
+        chunk = super.get(key);
+        if (chunk != null) {
+            this.cacheKeys[index] = key;
+            this.cacheValues[index] = chunk;
+        }
+        return chunk;
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return this.get(key) != null;
+    }
+
+    @Override
+    public Chunk put(long key, Chunk chunk) {
+        final Chunk previous = super.put(key, chunk);
+        if (previous != chunk) {
+            if (previous != null) {
+                this.removeFromRegion(key);
+            }
+            this.addToRegion(key, chunk);
+        }
+        final int index = cacheIndex(key);
+        if (this.cacheKeys[index] == key) {
+            this.cacheValues[index] = chunk;
+        }
+        return previous;
+    }
+
+    @Override
+    public Chunk put(Long key, Chunk chunk) {
+        return this.put(key.longValue(), chunk);
+    }
+
+    @Override
+    public Chunk remove(long key) {
+        final Chunk removed = super.remove(key);
+        if (removed != null) {
+            this.removeFromRegion(key);
+        }
+        final int index = cacheIndex(key);
+        if (this.cacheKeys[index] == key) {
+            this.cacheValues[index] = null;
+        }
+        return removed;
+    }
+
+    @Override
+    public Chunk remove(Object key) {
+        return key instanceof Long ? this.remove(((Long) key).longValue()) : null;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(this.cacheValues, null);
+        this.regions.clear();
+        this.unloadQueue.clear();
+        this.queuedForUnload.clear();
+    }
+
+    private void addToRegion(long key, Chunk chunk) {
+        final long regionKey = regionKey(key);
+        Region region = this.regions.get(regionKey);
+        if (region == null) {
+            region = new Region();
+            this.regions.put(regionKey, region);
+        }
+        region.set(key, chunk);
+    }
+
+    private void removeFromRegion(long key) {
+        final long regionKey = regionKey(key);
+        final Region region = this.regions.get(regionKey);
+        if (region != null && region.set(key, null) == 0) {
+            this.regions.remove(regionKey);
+        }
+    }
+
+    /**
+     * Gets a copy of the loaded chunks, ordered so that the chunks of each
+     * region follow each other.
+     *
+     * @return The loaded chunks, grouped by region
+     */
+    public ArrayList<Chunk> getChunksByRegion() {
+        final ArrayList<Chunk> chunks = new ArrayList<>(this.size());
+        for (Region region : this.regions.values()) {
+            region.forEach(chunks::add);
+        }
+        return chunks;
+    }
+
+    /**
+     * Queues a chunk which was marked as unloaded to be unloaded once its
+     * unload delay has passed.
+     *
+     * @param chunk The chunk
+     * @param unloadDelay The unload delay, in milliseconds
+     */
+    public void queueUnload(Chunk chunk, long unloadDelay) {
+        if (this.queuedForUnload.add(chunk)) {
+            this.unloadQueue.add(new UnloadCandidate(chunk, getUnloadTime(chunk, unloadDelay)));
+        }
+    }
+
+    private static long getUnloadTime(Chunk chunk, long unloadDelay) {
+        return unloadDelay > 0 ? ((IMixinChunk) chunk).getScheduledForUnload() + unloadDelay : Long.MIN_VALUE;
+    }
+
+    /**
+     * Gets the next queued chunk which may be unloaded now, skipping chunks
+     * which were used again or unloaded in the meantime. The chunk is
+     * removed from the queue but remains loaded.
+     *
+     * @param now The current time, in milliseconds
+     * @param unloadDelay The unload delay, in milliseconds
+     * @return The chunk to unload, or null if no chunk may be unloaded yet
+     */
+    @Nullable
+    public Chunk pollUnload(long now, long unloadDelay) {
+        UnloadCandidate candidate;
+        while ((candidate = this.unloadQueue.peek()) != null) {
+            final Chunk chunk = candidate.chunk;
+            if (!chunk.unloaded || ((IMixinChunk) chunk).isPersistedChunk()
+                    || super.get(ChunkPos.asLong(chunk.xPosition, chunk.zPosition)) != chunk) {
+                this.unloadQueue.poll();
+                this.queuedForUnload.remove(chunk);
+                continue;
+            }
+            final long unloadTime = getUnloadTime(chunk, unloadDelay);
+            if (unloadTime > now) {
+                if (unloadTime == candidate.unloadTime) {
+                    // As the queue is ordered, no other chunk may be unloaded yet either
+                    return null;
+                }
+                // Scheduled again since it was queued
+                this.unloadQueue.poll();
+                candidate.unloadTime = unloadTime;
+                this.unloadQueue.add(candidate);
+                continue;
+            }
+            this.unloadQueue.poll();
+            this.queuedForUnload.remove(chunk);
+            return chunk;
+        }
+        return null;
+    }
+
+    /**
+     * The loaded chunks of a single 32x32 chunk region file.
+     */
+    private static final class Region {
+
+        private final Chunk[] chunks = new Chunk[(REGION_MASK + 1) * (REGION_MASK + 1)];
+        private int count;
+
+        int set(long key, @Nullable Chunk chunk) {
+            final int index = (((int) (key >>> 32) & REGION_MASK) << REGION_SHIFT) | ((int) key & REGION_MASK);
+            final Chunk previous = this.chunks[index];
+            this.chunks[index] = chunk;
+            if (previous == null && chunk != null) {
+                this.count++;
+            } else if (previous != null && chunk == null) {
+                this.count--;
+            }
+            return this.count;
+        }
+
+        void forEach(Consumer<Chunk> consumer) {
+            for (Chunk chunk : this.chunks) {
+                if (chunk != null) {
+                    consumer.accept(chunk);
+                }
+            }
+        }
+    }
+
+    private static final class UnloadCandidate implements Comparable<UnloadCandidate> {
+
+        final Chunk chunk;
+        long unloadTime;
+
+        UnloadCandidate(Chunk chunk, long unloadTime) {
+            this.chunk = chunk;
+            this.unloadTime = unloadTime;
+        }
+
+        @Override
+        public int compareTo(UnloadCandidate other) {
+            return Long.compare(this.unloadTime, other.unloadTime);
+        }
+    }
+
+}
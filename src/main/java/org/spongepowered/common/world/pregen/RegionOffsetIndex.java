@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.world.storage.ReadOnlyRegionFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Answers whether chunks exist on disk from the offset tables of their region
+ * files. The table of a region is read once, in the background, as soon as a
+ * chunk of it is first prefetched, instead of checking every chunk on the
+ * main thread.
+ *
+ * <p>The tables are snapshots, chunks saved after their region was read are
+ * not seen. All methods must be called from the main thread.</p>
+ */
+final class RegionOffsetIndex {
+
+    private static final ExecutorService IO_EXECUTOR = new ThreadPoolExecutor(2, 2, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Pre-generation IO Thread #%d").setDaemon(true).build());
+    private static final int[] EMPTY_REGION = new int[ReadOnlyRegionFile.CHUNKS_PER_REGION];
+    // Size of a region offset table in memory
+    static final int REGION_BYTES = ReadOnlyRegionFile.CHUNKS_PER_REGION * 4;
+
+    @Nullable private final Path regionDir;
+    private final Long2ObjectMap<CompletableFuture<int[]>> regions = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Creates a new index for the regions of the given world directory.
+     *
+     * @param worldDir The world directory, or null if chunks are not stored in
+     *     region files and should always be considered absent
+     */
+    RegionOffsetIndex(@Nullable Path worldDir) {
+        this.regionDir = worldDir == null ? null : worldDir.resolve("region");
+    }
+
+    /**
+     * Starts reading the offset table of the region containing the given
+     * chunk, if it isn't read yet.
+     */
+    void prefetch(int chunkX, int chunkZ) {
+        this.getRegion(chunkX, chunkZ);
+    }
+
+    /**
+     * Gets whether the given chunk is stored in its region file, waiting for
+     * the offset table to be read if necessary.
+     */
+    boolean exists(int chunkX, int chunkZ) {
+        return this.getRegion(chunkX, chunkZ).join()[ReadOnlyRegionFile.getIndex(chunkX, chunkZ)] != 0;
+    }
+
+    int getRegionCount() {
+        return this.regions.size();
+    }
+
+    private CompletableFuture<int[]> getRegion(int chunkX, int chunkZ) {
+        final int regionX = chunkX >> 5;
+        final int regionZ = chunkZ >> 5;
+        final long key = ChunkPos.asLong(regionX, regionZ);
+        CompletableFuture<int[]> region = this.regions.get(key);
+        if (region == null) {
+            if (this.regionDir == null) {
+                region = CompletableFuture.completedFuture(EMPTY_REGION);
+            } else {
+                final Path path = this.regionDir.resolve("r." + regionX + "." + regionZ + ".mca");
+                region = CompletableFuture.supplyAsync(() -> readOffsets(path), IO_EXECUTOR);
+            }
+            this.regions.put(key, region);
+        }
+        return region;
+    }
+
+    private static int[] readOffsets(Path path) {
+        if (!Files.exists(path)) {
+            return EMPTY_REGION;
+        }
+        try {
+            return ReadOnlyRegionFile.readOffsets(path);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Couldn't read the chunk offsets of region file {}", path, e);
+            return EMPTY_REGION;
+        }
+    }
+
+}
@@ -30,6 +30,8 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.ChunkProviderServer;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -49,12 +51,13 @@
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -62,6 +65,13 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
+    // The number of steps whose region offset tables are read ahead of generation
+    private static final int LOOKAHEAD_STEPS = 16;
+    // Chunks are unloaded once the spiral is this many layers further, so that
+    // they are no longer needed to populate their neighbours
+    private static final int UNLOAD_LAYER_DISTANCE = 3;
+    // Rough size of a loaded, generated chunk: its block storage, light and height maps
+    private static final long ESTIMATED_CHUNK_BYTES = 64 * 1024;
 
     private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
@@ -71,7 +81,7 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     };
 
     private final World world;
-    private final Predicate<Vector3i> doesChunkExistCheck;
+    private final RegionOffsetIndex regionIndex;
     private final int chunkRadius;
     private final int chunkCount;
     private final float tickPercent;
@@ -94,6 +104,11 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
 
+    // Upcoming steps of the spiral, in order
+    private final Deque<Step> lookahead = new ArrayDeque<>();
+    // Chunks loaded by this task that are not yet unloaded, in the order of their layers
+    private final Deque<LoadedChunk> loadedChunks = new ArrayDeque<>();
+
     // Used for wall clock times.
     private long generationStartTime = 0;
     private long generationEndTime = 0;
@@ -109,15 +124,14 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.world = world;
 
         // In order to be able to check whether a chunk exists, we could use standard Sponge API methods. However,
-        // because they set up an async method which we need to get sync anyway, we just bypass it.
-        // This results in a extremely noticeable speed improvement.
+        // because they set up an async method which we need to get sync anyway, we just bypass it and read the
+        // offset tables of the region files in bulk, ahead of the chunks being generated.
         //
         // This also allows us to catch non Anvil file formats too.
         if (world.getWorldStorage() instanceof IMixinAnvilChunkLoader) {
-            this.doesChunkExistCheck = v -> ((IMixinAnvilChunkLoader) world.getWorldStorage())
-                    .chunkExists((net.minecraft.world.World) this.world, v.getX(), v.getZ());
+            this.regionIndex = new RegionOffsetIndex(((IMixinAnvilChunkLoader) world.getWorldStorage()).getWorldDir());
         } else {
-            this.doesChunkExistCheck = v -> false;
+            this.regionIndex = new RegionOffsetIndex(null);
         }
 
         this.chunkRadius = GenericMath.floor(diameter / 32);
@@ -177,6 +191,37 @@ public int getTargetTotalChunks() {
         return this.totalChunksToGenerate;
     }
 
+    /**
+     * Gets the average number of chunks generated per second since the
+     * generation started.
+     *
+     * @return The chunks generated per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = this.getTotalTime().toMillis();
+        return millis <= 0 ? 0 : this.chunksGenerated * 1000.0 / millis;
+    }
+
+    /**
+     * Gets the number of chunks loaded by this task that are still held in
+     * memory, because their neighbours are not populated yet.
+     *
+     * @return The number of chunks in flight
+     */
+    public int getChunksInFlight() {
+        return this.loadedChunks.size();
+    }
+
+    /**
+     * Gets a rough estimate of the memory held by this task, for the chunks in
+     * flight and the cached region offset tables.
+     *
+     * @return The estimated memory in bytes
+     */
+    public long getEstimatedMemoryInFlight() {
+        return this.loadedChunks.size() * ESTIMATED_CHUNK_BYTES + (long) this.regionIndex.getRegionCount() * RegionOffsetIndex.REGION_BYTES;
+    }
+
     @Override
     public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
@@ -237,28 +282,35 @@ public void accept(Task task) {
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+        final ChunkProviderServer chunkProvider = ((WorldServer) this.world).getChunkProvider();
+        fillLookahead();
+        while (!this.lookahead.isEmpty()) {
+            final Step step = this.lookahead.poll();
+            unloadFinishedChunks(chunkProvider, step.layer - UNLOAD_LAYER_DISTANCE);
 
             // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
+            if (!areAllChunksLoaded(chunkProvider, step.chunks)) {
 
                 // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
+                for (Vector3i chunk : step.chunks) {
+                    final boolean wasLoaded = chunkProvider.getLoadedChunk(chunk.getX(), chunk.getZ()) != null;
+                    this.world.loadChunk(chunk, true);
+                    if (!wasLoaded) {
+                        this.loadedChunks.add(new LoadedChunk(chunk.getX(), chunk.getZ(), step.layer));
+                    }
+                }
 
-                count += this.currentGenCount;
+                count += step.genCount;
             } else {
 
                 // Skipped them, log this.
-                skipped += this.currentGenCount;
+                skipped += step.genCount;
+            }
+            fillLookahead();
+            if (!checkChunkCount(count) || !checkTickTime(System.currentTimeMillis() - stepStartTime)) {
+                break;
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -279,8 +331,9 @@ public void accept(Task task) {
             return;
         }
 
-        if (!hasNextChunkPosition()) {
-            // Generation has completed.
+        if (this.lookahead.isEmpty()) {
+            // Generation has completed, the last chunks are left to the chunk gc.
+            this.loadedChunks.clear();
             Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(
                     this.cause,
                     this,
@@ -293,9 +346,47 @@ public void accept(Task task) {
         }
     }
 
-    private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
-        return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
-                this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
+    private boolean areAllChunksLoaded(ChunkProviderServer chunkProvider, Vector3i[] chunks) {
+        for (Vector3i chunk : chunks) {
+            if (chunkProvider.getLoadedChunk(chunk.getX(), chunk.getZ()) == null && !this.regionIndex.exists(chunk.getX(), chunk.getZ())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queues the next steps of the spiral, reading the region offset tables
+     * of new steps in the background ahead of generation.
+     */
+    private void fillLookahead() {
+        while (this.lookahead.size() < LOOKAHEAD_STEPS && hasNextChunkPosition()) {
+            final Vector3i position = nextChunkPosition();
+            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
+            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+            // Like the generation count, the layer is read once the spiral advanced
+            final Step step = new Step(new Vector3i[] {position, pos1, pos2, pos3}, this.currentGenCount, this.currentLayer);
+            for (Vector3i chunk : step.chunks) {
+                this.regionIndex.prefetch(chunk.getX(), chunk.getZ());
+            }
+            this.lookahead.add(step);
+        }
+    }
+
+    /**
+     * Queues every chunk loaded by this task up to the given layer to be
+     * unloaded and saved, unless a player is watching it.
+     */
+    private void unloadFinishedChunks(ChunkProviderServer chunkProvider, int maxLayer) {
+        final WorldServer worldServer = (WorldServer) this.world;
+        while (!this.loadedChunks.isEmpty() && this.loadedChunks.peek().layer <= maxLayer) {
+            final LoadedChunk loaded = this.loadedChunks.poll();
+            final net.minecraft.world.chunk.Chunk chunk = chunkProvider.getLoadedChunk(loaded.x, loaded.z);
+            if (chunk != null && !worldServer.getPlayerChunkMap().contains(loaded.x, loaded.z)) {
+                chunkProvider.unload(chunk);
+            }
+        }
     }
 
     private void unregisterListener() {
@@ -397,6 +488,11 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                                 (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
                                     / post.getChunkPreGenerate().getTargetTotalChunks() * 100)
                         );
+                        if (post.getChunkPreGenerate() instanceof SpongeChunkPreGenerateTask) {
+                            final SpongeChunkPreGenerateTask task = (SpongeChunkPreGenerateTask) post.getChunkPreGenerate();
+                            logger.debug("{} chunks/s, {} chunks in flight (~{} KiB)", GenericMath.floor(task.getChunksPerSecond()),
+                                task.getChunksInFlight(), task.getEstimatedMemoryInFlight() / 1024);
+                        }
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
                         logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
                             DurationFormatUtils.formatDuration(event.getChunkPreGenerate().getTotalTime().toMillis(), TIME_FORMAT, false));
@@ -468,4 +564,32 @@ public ChunkPreGenerate.Builder reset() {
             return this;
         }
     }
+
+    private static final class Step {
+
+        final Vector3i[] chunks;
+        final int genCount;
+        final int layer;
+
+        Step(Vector3i[] chunks, int genCount, int layer) {
+            this.chunks = chunks;
+            this.genCount = genCount;
+            this.layer = layer;
+        }
+
+    }
+
+    private static final class LoadedChunk {
+
+        final int x;
+        final int z;
+        final int layer;
+
+        LoadedChunk(int x, int z, int layer) {
+            this.x = x;
+            this.z = z;
+            this.layer = layer;
+        }
+
+    }
 }
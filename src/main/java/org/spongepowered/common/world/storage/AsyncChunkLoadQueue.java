@@ -0,0 +1,178 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Loads chunks for a single chunk provider in two stages. Reading the region
+ * file, inflating the chunk data and parsing it into NBT is performed on a
+ * shared, bounded I/O pool, while turning that NBT into a {@link Chunk},
+ * adding it to the provider and populating it is left to the main thread
+ * through {@link #processLoadedChunks()}.
+ *
+ * <p>All methods, except for the I/O stage itself, must be called from the
+ * main thread.</p>
+ */
+public final class AsyncChunkLoadQueue {
+
+    private static final int IO_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final ExecutorService IO_EXECUTOR = new ThreadPoolExecutor(IO_THREADS, IO_THREADS, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Chunk IO Thread #%d").setDaemon(true).build());
+
+    private final IMixinChunkProviderServer chunkProvider;
+    private final IMixinAnvilChunkLoader chunkLoader;
+    // Loads that have been requested but not yet applied, only accessed from the main thread
+    private final Long2ObjectMap<PendingChunkLoad> pendingLoads = new Long2ObjectOpenHashMap<>();
+    // Loads that finished their I/O stage and are waiting for the main thread
+    private final Queue<PendingChunkLoad> readLoads = new ConcurrentLinkedQueue<>();
+
+    public AsyncChunkLoadQueue(IMixinChunkProviderServer chunkProvider, IMixinAnvilChunkLoader chunkLoader) {
+        this.chunkProvider = chunkProvider;
+        this.chunkLoader = chunkLoader;
+    }
+
+    /**
+     * Queues the chunk at the given coordinates to be read from disk. If the
+     * chunk is already queued, the existing request is reused.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param generate Whether the chunk should be generated if it does not exist
+     * @return The future completed on the main thread with the loaded chunk,
+     *     or null if it does not exist or could not be read and was not
+     *     generated
+     */
+    public CompletableFuture<Chunk> loadChunk(int x, int z, boolean generate) {
+        final long key = ChunkPos.asLong(x, z);
+        PendingChunkLoad load = this.pendingLoads.get(key);
+        if (load == null) {
+            load = new PendingChunkLoad(x, z, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return this.chunkLoader.readChunkData(x, z);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, IO_EXECUTOR));
+            this.pendingLoads.put(key, load);
+            final PendingChunkLoad submitted = load;
+            load.data.whenComplete((data, throwable) -> this.readLoads.add(submitted));
+        }
+        load.generate |= generate;
+        return load.result;
+    }
+
+    public boolean isPending(int x, int z) {
+        return this.pendingLoads.containsKey(ChunkPos.asLong(x, z));
+    }
+
+    /**
+     * Claims a pending load for a synchronous chunk request, waiting for its
+     * I/O stage to finish if necessary. The future of the claimed load is
+     * completed with the loaded chunk on the next call to
+     * {@link #processLoadedChunks()}.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The chunk data, or null if the chunk does not exist or could not be read
+     */
+    @Nullable
+    public NBTTagCompound awaitChunkData(int x, int z) {
+        final PendingChunkLoad load = this.pendingLoads.remove(ChunkPos.asLong(x, z));
+        if (load == null) {
+            return null;
+        }
+        try {
+            return load.data.join();
+        } catch (CompletionException e) {
+            SpongeImpl.getLogger().error("Couldn't load chunk at {}, {}", x, z, e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Applies every load whose I/O stage has finished since the last call.
+     */
+    public void processLoadedChunks() {
+        PendingChunkLoad load;
+        while ((load = this.readLoads.poll()) != null) {
+            final long key = ChunkPos.asLong(load.x, load.z);
+            if (this.pendingLoads.get(key) != load) {
+                // Claimed by a synchronous request in the meantime
+                load.result.complete(this.chunkProvider.getLoadedChunkWithoutMarkingActive(load.x, load.z));
+                continue;
+            }
+            this.pendingLoads.remove(key);
+            NBTTagCompound compound;
+            try {
+                compound = load.data.join();
+            } catch (CompletionException e) {
+                // Treat the chunk as missing, like the synchronous path does
+                SpongeImpl.getLogger().error("Couldn't load chunk at {}, {}", load.x, load.z, e.getCause());
+                compound = null;
+            }
+            try {
+                load.result.complete(this.chunkProvider.completeChunkLoad(load.x, load.z, compound, load.generate));
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("Couldn't load chunk at {}, {}", load.x, load.z, t);
+                load.result.completeExceptionally(t);
+            }
+        }
+    }
+
+    private static final class PendingChunkLoad {
+
+        final int x;
+        final int z;
+        final CompletableFuture<NBTTagCompound> data;
+        final CompletableFuture<Chunk> result = new CompletableFuture<>();
+        boolean generate;
+
+        PendingChunkLoad(int x, int z, CompletableFuture<NBTTagCompound> data) {
+            this.x = x;
+            this.z = z;
+            this.data = data;
+        }
+    }
+}
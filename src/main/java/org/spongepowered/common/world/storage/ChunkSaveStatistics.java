@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import co.aikar.timings.TimingsStatistics;
+import co.aikar.util.JSONUtil;
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the chunk saves queued for the file I/O thread across all worlds
+ * and reports them through {@link TimingsStatistics}.
+ */
+public final class ChunkSaveStatistics {
+
+    private static final AtomicInteger queuedChunks = new AtomicInteger();
+    private static final LongAdder coalescedSaves = new LongAdder();
+    private static final LongAdder writtenChunks = new LongAdder();
+    private static final LongAdder totalWaitNanos = new LongAdder();
+    private static final LongAdder totalWriteNanos = new LongAdder();
+    private static final AtomicLong maxWriteNanos = new AtomicLong();
+
+    static {
+        TimingsStatistics.register("chunk-saves", ChunkSaveStatistics::export);
+    }
+
+    private ChunkSaveStatistics() {
+    }
+
+    /**
+     * Records a chunk save being queued.
+     *
+     * @param coalesced Whether the save replaced one of the same chunk that
+     *     was not written yet
+     */
+    public static void onChunkQueued(boolean coalesced) {
+        if (coalesced) {
+            coalescedSaves.increment();
+        } else {
+            queuedChunks.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a queued chunk being written to its region file.
+     *
+     * @param waitNanos The time the chunk spent in the queue
+     * @param writeNanos The time spent compressing and writing the chunk
+     */
+    public static void onChunkWritten(long waitNanos, long writeNanos) {
+        queuedChunks.decrementAndGet();
+        writtenChunks.increment();
+        totalWaitNanos.add(waitNanos);
+        totalWriteNanos.add(writeNanos);
+        maxWriteNanos.accumulateAndGet(writeNanos, Math::max);
+    }
+
+    public static int getQueuedChunks() {
+        return queuedChunks.get();
+    }
+
+    private static JsonObject export() {
+        final long written = writtenChunks.sum();
+        return JSONUtil.objectBuilder()
+                .add("queued", queuedChunks.get())
+                .add("written", written)
+                .add("coalesced", coalescedSaves.sum())
+                .add("avgWaitMicros", written == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / written))
+                .add("avgWriteMicros", written == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWriteNanos.sum() / written))
+                .add("maxWriteMicros", TimeUnit.NANOSECONDS.toMicros(maxWriteNanos.get()))
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.BitArray;
+import net.minecraft.world.chunk.BlockStatePaletteRegistry;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.common.interfaces.world.IMixinBlockStateContainer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A copy of the raw arrays of a chunk section, taken on the main thread
+ * when the chunk is saved, from which the section NBT is built later on
+ * the file I/O thread.
+ *
+ * <p>Copying the packed block storage, the light arrays and the at most 256
+ * entries of a section palette is cheap, while building the NBT requires a
+ * lookup for each of the 4096 blocks of the section. The live palette is
+ * never read off the main thread, as it may grow at any time.</p>
+ */
+public final class ChunkSectionSnapshot {
+
+    private static final int SECTION_VOLUME = 4096;
+
+    private final int y;
+    // The state id of each palette id, or null if the storage holds state ids
+    @Nullable private final int[] stateIds;
+    private final int bits;
+    private final long[] storage;
+    private final byte[] blockLight;
+    @Nullable private final byte[] skyLight;
+
+    private ChunkSectionSnapshot(ExtendedBlockStorage section) {
+        final IMixinBlockStateContainer container = (IMixinBlockStateContainer) section.getData();
+        this.y = section.getYLocation() >> 4;
+        this.bits = container.getBits();
+        this.stateIds = copyStateIds(container.getPalette(), this.bits);
+        this.storage = container.getStorage().getBackingLongArray().clone();
+        this.blockLight = section.getBlocklightArray().getData().clone();
+        this.skyLight = section.getSkylightArray() == null ? null : section.getSkylightArray().getData().clone();
+    }
+
+    @Nullable
+    private static int[] copyStateIds(IBlockStatePalette palette, int bits) {
+        if (palette instanceof BlockStatePaletteRegistry) {
+            return null;
+        }
+        final int[] stateIds = new int[1 << bits];
+        for (int i = 0; i < stateIds.length; i++) {
+            final IBlockState state = palette.getBlockState(i);
+            stateIds[i] = state == null ? -1 : Block.BLOCK_STATE_IDS.get(state);
+        }
+        return stateIds;
+    }
+
+    /**
+     * Copies the sections of the given chunk.
+     *
+     * @param sections The block storage array of the chunk
+     * @return The copied sections
+     */
+    public static ChunkSectionSnapshot[] of(ExtendedBlockStorage[] sections) {
+        int count = 0;
+        for (ExtendedBlockStorage section : sections) {
+            if (section != Chunk.NULL_BLOCK_STORAGE) {
+                count++;
+            }
+        }
+        final ChunkSectionSnapshot[] snapshots = new ChunkSectionSnapshot[count];
+        int i = 0;
+        for (ExtendedBlockStorage section : sections) {
+            if (section != Chunk.NULL_BLOCK_STORAGE) {
+                snapshots[i++] = new ChunkSectionSnapshot(section);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Builds the "Sections" list of the chunk NBT, in the same format as
+     * {@code AnvilChunkLoader#writeChunkToNBT}.
+     *
+     * @param snapshots The copied sections
+     * @return The sections list
+     */
+    public static NBTTagList write(ChunkSectionSnapshot[] snapshots) {
+        final NBTTagList list = new NBTTagList();
+        for (ChunkSectionSnapshot snapshot : snapshots) {
+            list.appendTag(snapshot.write());
+        }
+        return list;
+    }
+
+    private NBTTagCompound write() {
+        final BitArray storage = new BitArray(this.bits, SECTION_VOLUME);
+        System.arraycopy(this.storage, 0, storage.getBackingLongArray(), 0, this.storage.length);
+
+        final byte[] blocks = new byte[SECTION_VOLUME];
+        final NibbleArray data = new NibbleArray();
+        NibbleArray add = null;
+        for (int i = 0; i < SECTION_VOLUME; i++) {
+            final int paletteId = storage.getAt(i);
+            final int id = this.stateIds == null ? paletteId : this.stateIds[paletteId];
+            if (id < 0) {
+                throw new IllegalStateException("Block " + i + " of section " + this.y + " references the unknown palette id " + paletteId);
+            }
+            final int x = i & 15;
+            final int y = i >> 8 & 15;
+            final int z = i >> 4 & 15;
+            if ((id >> 12 & 15) != 0) {
+                if (add == null) {
+                    add = new NibbleArray();
+                }
+                add.set(x, y, z, id >> 12 & 15);
+            }
+            blocks[i] = (byte) (id >> 4 & 255);
+            data.set(x, y, z, id & 15);
+        }
+
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setByte("Y", (byte) (this.y & 255));
+        compound.setByteArray("Blocks", blocks);
+        compound.setByteArray("Data", data.getData());
+        if (add != null) {
+            compound.setByteArray("Add", add.getData());
+        }
+        compound.setByteArray("BlockLight", this.blockLight);
+        compound.setByteArray("SkyLight", this.skyLight == null ? new byte[this.blockLight.length] : this.skyLight);
+        return compound;
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Writes player data files on a background thread. The data to write is
+ * snapshotted on the main thread, while compressing it and replacing the file
+ * happens in the background.
+ *
+ * <p>Saves of the same file that are still queued are coalesced, only the
+ * latest snapshot is written, and all of them share the future that is
+ * completed once it is. Each file is written to a temporary file first
+ * and then moved over the previous file in a single rename.</p>
+ */
+public final class PlayerDataWriter {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Player Data Writer").setDaemon(true).build());
+
+    private static final Object LOCK = new Object();
+    // Both guarded by the lock
+    private static final Map<Path, QueuedWrite> queued = new HashMap<>();
+    private static final Set<Path> writing = new HashSet<>();
+
+    /**
+     * Queues the given compound to be written to the file.
+     *
+     * @param file The file to write
+     * @param compound The compound to write, which must no longer be modified
+     * @return A future completed once the file is written
+     */
+    public static CompletableFuture<Void> write(Path file, NBTTagCompound compound) {
+        return update(file, path -> compound);
+    }
+
+    /**
+     * Queues the file to be written with the compound created by the given
+     * function. The function is called on the writer thread with the file,
+     * which allows it to read and update the current contents, so it must
+     * only use data that was snapshotted beforehand.
+     *
+     * @param file The file to write
+     * @param snapshot The function creating the compound to write
+     * @return A future completed once the file is written with this or a
+     *     later snapshot, or completed exceptionally if writing it failed
+     */
+    public static CompletableFuture<Void> update(Path file, Function<Path, NBTTagCompound> snapshot) {
+        synchronized (LOCK) {
+            QueuedWrite write = queued.get(file);
+            if (write == null) {
+                write = new QueuedWrite();
+                queued.put(file, write);
+                EXECUTOR.execute(() -> writeQueued(file));
+            }
+            write.snapshot = snapshot;
+            return write.future;
+        }
+    }
+
+    /**
+     * Waits until the queued save of the given file, if any, is written, so
+     * that the file can be read.
+     *
+     * @param file The file
+     */
+    public static void await(Path file) {
+        synchronized (LOCK) {
+            while (queued.containsKey(file) || writing.contains(file)) {
+                if (!waitForWrite()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until every queued save is written. This is used when the server
+     * stops, so that no player data is lost.
+     */
+    public static void flush() {
+        synchronized (LOCK) {
+            while (!queued.isEmpty() || !writing.isEmpty()) {
+                if (!waitForWrite()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean waitForWrite() {
+        try {
+            LOCK.wait();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void writeQueued(Path file) {
+        final QueuedWrite write;
+        synchronized (LOCK) {
+            write = queued.remove(file);
+            if (write == null) {
+                return;
+            }
+            writing.add(file);
+        }
+        try {
+            writeAtomically(file, write.snapshot.apply(file));
+            write.future.complete(null);
+        } catch (Exception e) {
+            SpongeImpl.getLogger().error("Failed to save player data file [{}]!", file, e);
+            write.future.completeExceptionally(e);
+        } finally {
+            synchronized (LOCK) {
+                writing.remove(file);
+                LOCK.notifyAll();
+            }
+        }
+    }
+
+    private static void writeAtomically(Path file, NBTTagCompound compound) throws IOException {
+        final Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(tmpFile)) {
+            CompressedStreamTools.writeCompressed(compound, stream);
+        }
+        try {
+            Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final class QueuedWrite {
+
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        // Guarded by the lock, replaced when saves are coalesced
+        Function<Path, NBTTagCompound> snapshot;
+
+    }
+
+    private PlayerDataWriter() {
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read-only, memory-mapped handle to a region file, which is opened
+ * separately from {@link net.minecraft.world.chunk.storage.RegionFileCache}
+ * so that scanning a world does not evict the handles of the running
+ * server. The file is mapped when the handle is opened; chunks written
+ * after that may not be seen.
+ */
+public final class ReadOnlyRegionFile {
+
+    public static final int CHUNKS_PER_REGION = 1024;
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int[] offsets;
+
+    public ReadOnlyRegionFile(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed and is released once the buffer is collected
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        this.offsets = new int[CHUNKS_PER_REGION];
+        if (this.buffer.capacity() >= SECTOR_BYTES) {
+            this.buffer.asIntBuffer().get(this.offsets);
+        }
+    }
+
+    /**
+     * Reads the offset table of a region file without mapping or
+     * decompressing any chunk data.
+     *
+     * @param path The region file
+     * @return The offsets of the 1024 chunks of the region, 0 for absent chunks
+     * @throws IOException If the file could not be read
+     */
+    public static int[] readOffsets(Path path) throws IOException {
+        final int[] offsets = new int[CHUNKS_PER_REGION];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+            if (!header.hasRemaining()) {
+                header.flip();
+                header.asIntBuffer().get(offsets);
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Counts the chunks stored in a region file from its offset table.
+     *
+     * @param path The region file
+     * @return The number of stored chunks
+     * @throws IOException If the file could not be read
+     */
+    public static int countChunks(Path path) throws IOException {
+        int count = 0;
+        for (int offset : readOffsets(path)) {
+            if (offset != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    public boolean hasChunk(int index) {
+        return this.offsets[index] != 0;
+    }
+
+    /**
+     * Opens the decompressed data of the chunk at the given index of the
+     * region, which is {@code x + z * 32} of the chunk within the region.
+     *
+     * @param index The index of the chunk
+     * @return The data stream, or null if the chunk is absent or damaged
+     * @throws IOException If the compression of the chunk is unknown
+     */
+    @Nullable
+    public DataInputStream getChunkDataInputStream(int index) throws IOException {
+        final int offset = this.offsets[index];
+        if (offset == 0) {
+            return null;
+        }
+        final long start = (long) (offset >>> 8) * SECTOR_BYTES;
+        final long sectors = offset & 0xFF;
+        if (start + 5 > this.buffer.capacity() || sectors == 0) {
+            return null;
+        }
+        final ByteBuffer chunk = this.buffer.duplicate();
+        chunk.position((int) start);
+        final int length = chunk.getInt();
+        if (length <= 1 || length > sectors * SECTOR_BYTES || start + 4 + length > this.buffer.capacity()) {
+            return null;
+        }
+        final byte version = chunk.get();
+        chunk.limit((int) (start + 4 + length));
+        final InputStream raw = new ByteBufferInputStream(chunk.slice());
+        if (version == VERSION_GZIP) {
+            return new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw)));
+        } else if (version == VERSION_DEFLATE) {
+            return new DataInputStream(new BufferedInputStream(new InflaterInputStream(raw)));
+        }
+        throw new IOException("Unknown chunk compression " + version + " in " + this.path);
+    }
+
+    /**
+     * Gets the chunk index within the region from the chunk coordinates.
+     */
+    public static int getIndex(int chunkX, int chunkZ) {
+        return (chunkX & 31) + (chunkZ & 31) * 32;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+
+}
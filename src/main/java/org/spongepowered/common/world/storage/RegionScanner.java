@@ -0,0 +1,278 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Throwables;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.persistence.NbtStreamReader;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * Scans the stored chunks of a world in parallel, one task per region file.
+ * Region files are opened through {@link ReadOnlyRegionFile}, so the scan
+ * neither uses nor evicts the region handles of the running server.
+ *
+ * <p>Scanned chunks are handed to the consumer through a bounded queue, so
+ * the workers wait for the consumer instead of decompressing the whole
+ * world into memory.</p>
+ */
+public final class RegionScanner {
+
+    private static final Pattern REGION_FILE_NAME = Pattern.compile("^r\\.(-?\\d+)\\.(-?\\d+)\\.mca$");
+
+    private final Path worldDir;
+    private final int parallelism;
+    private final int queueCapacity;
+
+    public RegionScanner(Path worldDir, int parallelism, int queueCapacity) {
+        checkArgument(parallelism > 0, "parallelism must be positive");
+        checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+        this.worldDir = worldDir;
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Counts the stored chunks of the world from the offset tables of its
+     * region files, without decompressing any chunk.
+     *
+     * @return The number of stored chunks
+     */
+    public int countChunks() {
+        final List<Path> files = getRegionFiles();
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            return pool.submit(() -> files.parallelStream().mapToInt(RegionScanner::countChunksQuietly).sum()).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Starts scanning every stored chunk of the world. The scan has to be
+     * closed if it is not consumed to the end.
+     *
+     * @param reader The reader for the paths to read of every chunk, created
+     *     by {@link WorldStorageUtil#createChunkDataReader(Iterable)}, or null
+     *     to read the whole level data like {@link WorldStorageUtil#readDataFromRegion(DataInputStream)}
+     * @return The running scan
+     */
+    public Scan scan(@Nullable NbtStreamReader reader) {
+        return new Scan(getRegionFiles(), reader);
+    }
+
+    private List<Path> getRegionFiles() {
+        final List<Path> files = new ArrayList<>();
+        for (Path file : WorldStorageUtil.listRegionFiles(this.worldDir)) {
+            files.add(file);
+        }
+        return files;
+    }
+
+    static int countChunksQuietly(Path file) {
+        try {
+            return ReadOnlyRegionFile.countChunks(file);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not read the offsets of region file {}", file, e);
+            return 0;
+        }
+    }
+
+    /**
+     * A chunk read by a scan.
+     */
+    public static final class ScannedChunk {
+
+        private final int x;
+        private final int z;
+        private final DataContainer data;
+
+        ScannedChunk(int x, int z, DataContainer data) {
+            this.x = x;
+            this.z = z;
+            this.data = data;
+        }
+
+        public int getX() {
+            return this.x;
+        }
+
+        public int getZ() {
+            return this.z;
+        }
+
+        public DataContainer getData() {
+            return this.data;
+        }
+    }
+
+    /**
+     * A running scan. Chunks are returned in no particular order.
+     */
+    public final class Scan implements Iterator<ScannedChunk>, AutoCloseable {
+
+        // Marks that every region task has finished
+        private final ScannedChunk end = new ScannedChunk(0, 0, null);
+        private final BlockingQueue<ScannedChunk> queue = new ArrayBlockingQueue<>(RegionScanner.this.queueCapacity);
+        private final ForkJoinPool pool = new ForkJoinPool(RegionScanner.this.parallelism);
+        private final AtomicInteger remainingTasks;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        @Nullable private final NbtStreamReader reader;
+        private volatile boolean closed;
+        @Nullable private ScannedChunk next;
+        private boolean ended;
+
+        Scan(List<Path> files, @Nullable NbtStreamReader reader) {
+            this.reader = reader;
+            this.remainingTasks = new AtomicInteger(files.size());
+            if (files.isEmpty()) {
+                this.ended = true;
+                this.pool.shutdown();
+                return;
+            }
+            for (Path file : files) {
+                this.pool.execute(() -> {
+                    try {
+                        scanRegion(file);
+                    } catch (Throwable t) {
+                        this.failure.compareAndSet(null, t);
+                    } finally {
+                        if (this.remainingTasks.decrementAndGet() == 0) {
+                            put(this.end);
+                        }
+                    }
+                });
+            }
+            this.pool.shutdown();
+        }
+
+        private void scanRegion(Path file) throws IOException {
+            final Matcher matcher = REGION_FILE_NAME.matcher(file.getFileName().toString());
+            if (!matcher.matches()) {
+                return;
+            }
+            final int regionX = Integer.parseInt(matcher.group(1));
+            final int regionZ = Integer.parseInt(matcher.group(2));
+            final ReadOnlyRegionFile region = new ReadOnlyRegionFile(file);
+            for (int index = 0; index < ReadOnlyRegionFile.CHUNKS_PER_REGION && !this.closed; index++) {
+                if (!region.hasChunk(index)) {
+                    continue;
+                }
+                final int chunkX = (regionX << 5) + (index & 31);
+                final int chunkZ = (regionZ << 5) + (index >> 5);
+                final DataContainer data;
+                try (DataInputStream stream = region.getChunkDataInputStream(index)) {
+                    data = this.reader == null ? WorldStorageUtil.readDataFromRegion(stream)
+                            : WorldStorageUtil.readDataFromRegion(stream, this.reader);
+                } catch (IOException e) {
+                    // A single corrupt chunk shouldn't hide the rest of the region
+                    SpongeImpl.getLogger().warn("Could not read the chunk at {}, {} from region file {}", chunkX, chunkZ, file, e);
+                    continue;
+                }
+                if (data != null) {
+                    put(new ScannedChunk(chunkX, chunkZ, data));
+                }
+            }
+        }
+
+        private void put(ScannedChunk chunk) {
+            try {
+                // Wait for the consumer, but give up once the scan was closed
+                boolean offered = false;
+                while (!offered && !this.closed) {
+                    offered = this.queue.offer(chunk, 100, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next != null) {
+                return true;
+            }
+            if (this.ended) {
+                return false;
+            }
+            final ScannedChunk polled;
+            try {
+                polled = this.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Throwables.propagate(e);
+            }
+            if (polled == this.end) {
+                this.ended = true;
+                final Throwable t = this.failure.get();
+                if (t != null) {
+                    throw Throwables.propagate(t);
+                }
+                return false;
+            }
+            this.next = polled;
+            return true;
+        }
+
+        @Override
+        public ScannedChunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ScannedChunk chunk = this.next;
+            this.next = null;
+            return chunk;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+            this.ended = true;
+            this.queue.clear();
+            this.pool.shutdownNow();
+        }
+    }
+
+}
@@ -124,20 +124,22 @@ public boolean hasNext() {
 
     @Override
     public int available() {
-        // Advance to the end of the stream, counting along the way. Store
-        // previous state and reset to it afterwards.
-        RegionFileItr currentItr = this.regionFileItr;
-        Set<Path> currentOpenedFiles = Sets.newHashSet(this.openedFiles);
+        // Count from the offset tables, without opening the remaining region
+        // files through the shared region file cache
         int count = 0;
-        int index = getNextIndex();
-        while (index != -1) {
-            count++;
-            this.regionFileItr.index = index + 1;
-            index = getNextIndex();
+        if (this.regionFileItr != null) {
+            final int[] offsets = this.regionFileItr.file.offsets;
+            for (int index = this.regionFileItr.index; index < offsets.length; index++) {
+                if (offsets[index] != 0) {
+                    count++;
+                }
+            }
+        }
+        for (Path file : WorldStorageUtil.listRegionFiles(this.worldDir)) {
+            if (!this.openedFiles.contains(file)) {
+                count += RegionScanner.countChunksQuietly(file);
+            }
         }
-        this.regionFileItr = currentItr;
-        this.openedFiles.clear();
-        this.openedFiles.addAll(currentOpenedFiles);
         return count;
     }
 
@@ -25,6 +25,7 @@
 package org.spongepowered.common.world.storage;
 
 import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
@@ -33,6 +34,8 @@
 import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.persistence.NbtStreamReader;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
@@ -45,9 +48,12 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
+import javax.annotation.Nullable;
+
 public class WorldStorageUtil {
 
     public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
@@ -91,6 +97,47 @@ public static DataContainer readDataFromRegion(DataInputStream stream) throws IO
         return NbtTranslator.getInstance().translateFrom(level);
     }
 
+    /**
+     * Creates a reader for {@link #readDataFromRegion(DataInputStream, NbtStreamReader)}
+     * which reads the given paths of the chunk data. Like the full read, the
+     * paths are relative to the level compound (for example
+     * {@code TileEntities}), and chunks without block sections are rejected.
+     *
+     * @param queries The paths to read, relative to the level compound
+     * @return The reader
+     */
+    public static NbtStreamReader createChunkDataReader(Iterable<DataQuery> queries) {
+        final List<DataQuery> levelQueries = Lists.newArrayList();
+        for (DataQuery query : queries) {
+            levelQueries.add(DataQuery.of(NbtDataUtil.CHUNK_DATA_LEVEL).then(query));
+        }
+        return new NbtStreamReader(levelQueries, ImmutableMap.of(
+                DataQuery.of(NbtDataUtil.CHUNK_DATA_LEVEL), NbtDataUtil.TAG_COMPOUND,
+                DataQuery.of(NbtDataUtil.CHUNK_DATA_LEVEL, NbtDataUtil.CHUNK_DATA_SECTIONS), NbtDataUtil.TAG_LIST));
+    }
+
+    /**
+     * Reads only some paths of the chunk data, like {@link #readDataFromRegion(DataInputStream)}
+     * reads all of them. Everything else is skipped without being decoded.
+     *
+     * @param stream The chunk stream, or null if the chunk doesn't exist
+     * @param reader The reader for the requested paths, created by {@link #createChunkDataReader(Iterable)}
+     * @return The requested level data, or null if the chunk doesn't exist or is invalid
+     * @throws IOException If the data could not be read
+     */
+    @Nullable
+    public static DataContainer readDataFromRegion(@Nullable DataInputStream stream, NbtStreamReader reader) throws IOException {
+        if (stream == null) {
+            return null;
+        }
+        // The reader performs the checks of the full read
+        final NBTTagCompound data = reader.read(stream);
+        if (data == null) {
+            return null;
+        }
+        return NbtTranslator.getInstance().translateFrom(data.getCompoundTag(NbtDataUtil.CHUNK_DATA_LEVEL));
+    }
+
     public static Iterable<Path> listRegionFiles(Path worldDir) {
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(worldDir.resolve("region"), "*.mca")) {
             return Lists.newArrayList(stream);
@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PlayerTrackerStoreTest {
+
+    @Test
+    public void testSetAndRemove() {
+        PlayerTrackerStore store = new PlayerTrackerStore();
+        store.setOwner(0, 3);
+        store.setNotifier(42, 5);
+        assertEquals(3, store.getOwner(0));
+        assertEquals(-1, store.getNotifier(0));
+        assertEquals(-1, store.getOwner(42));
+        assertEquals(5, store.getNotifier(42));
+        assertEquals(2, store.size());
+
+        store.remove(0);
+        assertFalse(store.contains(0));
+        assertEquals(-1, store.getOwner(0));
+        assertTrue(store.contains(42));
+    }
+
+    @Test
+    public void testGrowAndRemoveManyPositions() {
+        PlayerTrackerStore store = new PlayerTrackerStore();
+        int[] positions = new int[20000];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i * 0x9E3779B1;
+            store.set(positions[i], i, -i);
+        }
+        for (int i = 0; i < positions.length; i += 2) {
+            store.remove(positions[i]);
+        }
+        for (int i = 0; i < positions.length; i++) {
+            if (i % 2 == 0) {
+                assertFalse(store.contains(positions[i]));
+            } else {
+                assertEquals(i, store.getOwner(positions[i]));
+                assertEquals(-i, store.getNotifier(positions[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testIntArrayRoundTrip() {
+        PlayerTrackerStore store = new PlayerTrackerStore();
+        store.set(0, 1, 2);
+        store.set(PlayerTrackerStore.fromShortPos((short) 0xF0FF), 3, -1);
+        store.set(7, -1, -1);
+        PlayerTrackerStore read = PlayerTrackerStore.fromIntArray(store.toIntArray());
+        assertEquals(2, read.size());
+        assertEquals(1, read.getOwner(0));
+        assertEquals(2, read.getNotifier(0));
+        assertEquals(3, read.getOwner(0xF00000FF));
+        assertFalse(read.contains(7));
+        assertArrayEquals(new int[0], new PlayerTrackerStore().toIntArray());
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+public class PhaseContextPoolTest {
+
+    private static final int TICKING_ENTITIES = 10000;
+
+    @Test
+    public void testReleasedContextIsReset() {
+        final PhaseContextPool pool = new PhaseContextPool();
+        final Object source = new Object();
+        final PhaseContext context = pool.acquire()
+                .source(source)
+                .addEntityCaptures()
+                .addBlockCaptures()
+                .complete();
+        assertSame(source, context.getSource(Object.class).get());
+        assertSame(source, context.first(Object.class).get());
+        final List<?> captured = context.getCapturedEntities();
+
+        pool.release(context);
+        assertEquals(1, pool.size());
+
+        final PhaseContext reused = pool.acquire();
+        assertSame(context, reused);
+        assertFalse(reused.isComplete());
+        assertFalse(reused.getSource(Object.class).isPresent());
+        reused.addEntityCaptures().complete();
+        assertTrue(reused.getCapturedEntitySupplier().isEmpty());
+        // Lists handed out before the release must not be shared with the next phase
+        assertNotSame(captured, reused.getCapturedEntities());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDoubleRelease() {
+        final PhaseContextPool pool = new PhaseContextPool();
+        final PhaseContext context = pool.acquire().complete();
+        pool.release(context);
+        pool.release(context);
+    }
+
+    @Test
+    public void testUnwindingContext() {
+        final PhaseContextPool pool = new PhaseContextPool();
+        final PhaseContext context = pool.acquire().addCaptures().complete();
+        final UnwindingPhaseContext unwinding = pool.acquireUnwinding(null, context);
+        unwinding.addCaptures().addEntityDropCaptures().complete();
+        assertSame(context, unwinding.first(PhaseContext.class).get());
+
+        pool.release(unwinding);
+        pool.release(context);
+        assertSame(unwinding, pool.acquireUnwinding(null, context));
+        assertSame(context, pool.acquire());
+    }
+
+    @Test
+    public void testSteadyStateAllocation() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        final PhaseContextPool pool = new PhaseContextPool();
+        final Object[] entities = new Object[TICKING_ENTITIES];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = new Object();
+        }
+        tick(pool, entities);
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadBean.getThreadAllocatedBytes(threadId);
+        tick(pool, entities);
+        final long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        // A single object per ticked entity would already be 16 bytes each
+        assertTrue("Allocated " + allocated + " bytes ticking " + TICKING_ENTITIES + " entities", allocated < TICKING_ENTITIES * 4);
+    }
+
+    private static void tick(PhaseContextPool pool, Object[] entities) {
+        for (Object entity : entities) {
+            final PhaseContext context = pool.acquire()
+                    .source(entity)
+                    .addEntityCaptures()
+                    .addBlockCaptures()
+                    .complete();
+            if (!context.getCapturedEntitySupplier().isEmpty() || !context.getCapturedBlockSupplier().isEmpty()) {
+                throw new IllegalStateException();
+            }
+            final UnwindingPhaseContext unwinding = pool.acquireUnwinding(null, context);
+            unwinding.addCaptures()
+                    .addEntityDropCaptures()
+                    .complete();
+            pool.release(unwinding);
+            pool.release(context);
+        }
+    }
+
+}
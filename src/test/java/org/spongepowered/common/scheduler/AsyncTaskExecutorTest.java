@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncTaskExecutorTest {
+
+    @Test
+    public void testDiscardedTaskCompletesExceptionally() throws Exception {
+        AsyncTaskExecutor executor = new AsyncTaskExecutor(1, 1, 1, true);
+        PluginContainer plugin = mock(PluginContainer.class);
+        when(plugin.getId()).thenReturn("test");
+
+        // Occupy the only running slot of the plugin
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocking = submit(executor, plugin, () -> {
+            started.countDown();
+            release.await();
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> oldest = submit(executor, plugin, () -> {});
+        CompletableFuture<Void> newest = submit(executor, plugin, () -> {});
+        assertTrue(oldest.isCompletedExceptionally());
+        try {
+            oldest.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+
+        assertFalse(newest.isDone());
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        newest.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testFullQueueRejectsNewTask() throws Exception {
+        AsyncTaskExecutor executor = new AsyncTaskExecutor(1, 1, 1, false);
+        PluginContainer plugin = mock(PluginContainer.class);
+        when(plugin.getId()).thenReturn("test");
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        submit(executor, plugin, () -> {
+            started.countDown();
+            release.await();
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        try {
+            submit(executor, plugin, () -> {});
+            executor.execute(plugin, () -> {}, e -> {});
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static CompletableFuture<Void> submit(AsyncTaskExecutor executor, PluginContainer plugin, Task task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        executor.execute(plugin, () -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, future::completeExceptionally);
+        return future;
+    }
+
+    private interface Task {
+
+        void run() throws Exception;
+    }
+}
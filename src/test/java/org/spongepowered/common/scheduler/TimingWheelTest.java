@@ -0,0 +1,104 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testElementsAreReturnedWhenDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.add("now", 0);
+        wheel.add("soon", 3);
+        wheel.add("later", 100);
+        wheel.add("much later", 300000);
+
+        List<String> due = new ArrayList<>();
+        wheel.advance(2, due::add);
+        assertEquals(1, due.size());
+        assertEquals("now", due.get(0));
+
+        due.clear();
+        wheel.advance(99, due::add);
+        assertEquals(1, due.size());
+        assertEquals("soon", due.get(0));
+
+        due.clear();
+        wheel.advance(100, due::add);
+        assertEquals(1, due.size());
+        assertEquals("later", due.get(0));
+
+        due.clear();
+        wheel.advance(299999, due::add);
+        assertTrue(due.isEmpty());
+        wheel.advance(300000, due::add);
+        assertEquals(1, due.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRemovedElementsAreNotReturned() {
+        TimingWheel<String> wheel = new TimingWheel<>(-10);
+        TimingWheel.Entry<String> entry = wheel.add("removed", 5000);
+        wheel.add("kept", 5000);
+        assertTrue(entry.remove());
+        assertFalse(entry.remove());
+
+        List<String> due = new ArrayList<>();
+        wheel.advance(5000, due::add);
+        assertEquals(1, due.size());
+        assertEquals("kept", due.get(0));
+    }
+
+    @Test
+    public void testNextDeadlineIsNeverLate() {
+        TimingWheel<Long> wheel = new TimingWheel<>(0);
+        long[] deadlines = {70, 4100, 262200, 17000000, 20000000};
+        for (long deadline : deadlines) {
+            wheel.add(deadline, deadline);
+        }
+        int returned = 0;
+        while (wheel.size() > 0) {
+            long next = wheel.nextDeadline();
+            assertTrue(next <= deadlines[returned]);
+            List<Long> due = new ArrayList<>();
+            wheel.advance(next, due::add);
+            for (Long deadline : due) {
+                assertEquals(deadlines[returned++], (long) deadline);
+                assertTrue(deadline <= next);
+            }
+        }
+        assertEquals(deadlines.length, returned);
+        assertEquals(Long.MAX_VALUE, wheel.nextDeadline());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.persistence.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Test;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.persistence.NbtStreamReader;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+public class NbtStreamReaderTest {
+
+    private static NBTTagCompound createChunk() {
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", 4);
+        level.setInteger("zPos", -2);
+        level.setByteArray("Biomes", new byte[256]);
+        level.setIntArray("HeightMap", new int[256]);
+        final NBTTagList entities = new NBTTagList();
+        final NBTTagCompound entity = new NBTTagCompound();
+        entity.setString("id", "minecraft:pig");
+        entities.appendTag(entity);
+        level.setTag("Entities", entities);
+        final NBTTagList tiles = new NBTTagList();
+        tiles.appendTag(new NBTTagString("chest"));
+        level.setTag("TileEntities", tiles);
+        final NBTTagCompound root = new NBTTagCompound();
+        root.setInteger("DataVersion", 922);
+        root.setTag("Level", level);
+        return root;
+    }
+
+    private static NBTTagCompound read(NBTTagCompound compound, DataQuery... queries) throws IOException {
+        return read(compound, ImmutableMap.of(), queries);
+    }
+
+    private static NBTTagCompound read(NBTTagCompound compound, Map<DataQuery, Byte> requiredTags, DataQuery... queries) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(bytes));
+        final NbtStreamReader reader = new NbtStreamReader(ImmutableList.copyOf(queries), requiredTags);
+        return reader.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testReadsOnlyRequestedPaths() throws IOException {
+        final NBTTagCompound read = read(createChunk(), DataQuery.of("Level", "xPos"), DataQuery.of("Level", "Entities"));
+        assertFalse(read.hasKey("DataVersion"));
+        final NBTTagCompound level = read.getCompoundTag("Level");
+        assertEquals(4, level.getInteger("xPos"));
+        assertEquals(createChunk().getCompoundTag("Level").getTag("Entities"), level.getTag("Entities"));
+        assertFalse(level.hasKey("zPos"));
+        assertFalse(level.hasKey("Biomes"));
+        assertFalse(level.hasKey("TileEntities"));
+    }
+
+    @Test
+    public void testSelectedCompoundIsReadWhole() throws IOException {
+        final NBTTagCompound chunk = createChunk();
+        assertEquals(chunk, read(chunk, DataQuery.of("Level"), DataQuery.of("DataVersion")));
+    }
+
+    @Test
+    public void testMissingPathsAreLeftOut() throws IOException {
+        final NBTTagCompound read = read(createChunk(), DataQuery.of("Level", "Sections"), DataQuery.of("DataVersion", "Nested"));
+        assertTrue(read.hasNoTags());
+    }
+
+    @Test
+    public void testRequiredTagsAreNotRead() throws IOException {
+        final NBTTagCompound read = read(createChunk(), ImmutableMap.of(DataQuery.of("Level", "Biomes"), NbtDataUtil.TAG_BYTE_ARRAY),
+                DataQuery.of("Level", "xPos"));
+        final NBTTagCompound level = read.getCompoundTag("Level");
+        assertEquals(4, level.getInteger("xPos"));
+        assertFalse(level.hasKey("Biomes"));
+    }
+
+    @Test
+    public void testMissingRequiredTagRejectsData() throws IOException {
+        assertNull(read(createChunk(), ImmutableMap.of(DataQuery.of("Level", "Sections"), NbtDataUtil.TAG_LIST), DataQuery.of("Level", "xPos")));
+        // Present, but with another type
+        assertNull(read(createChunk(), ImmutableMap.of(DataQuery.of("Level", "Biomes"), NbtDataUtil.TAG_LIST), DataQuery.of("Level", "xPos")));
+        // Checked within compounds that are read whole as well
+        assertNull(read(createChunk(), ImmutableMap.of(DataQuery.of("Level", "Sections"), NbtDataUtil.TAG_LIST), DataQuery.of("Level")));
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RegionScannerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testScanSkipsCorruptChunks() throws IOException {
+        final Path worldDir = this.folder.getRoot().toPath();
+        final File regionFile = new File(this.folder.newFolder("region"), "r.0.0.mca");
+        final RegionFile region = new RegionFile(regionFile);
+        writeChunk(region, 0, 0);
+        writeChunk(region, 1, 0);
+        writeChunk(region, 5, 3);
+        region.close();
+        corruptChunk(regionFile, 1, 0);
+
+        final RegionScanner scanner = new RegionScanner(worldDir, 2, 4);
+        assertEquals(3, scanner.countChunks());
+
+        final Set<Long> scanned = new HashSet<>();
+        try (RegionScanner.Scan scan = scanner.scan(null)) {
+            while (scan.hasNext()) {
+                final RegionScanner.ScannedChunk chunk = scan.next();
+                scanned.add(key(chunk.getX(), chunk.getZ()));
+            }
+        }
+        final Set<Long> expected = new HashSet<>();
+        expected.add(key(0, 0));
+        expected.add(key(5, 3));
+        assertEquals(expected, scanned);
+    }
+
+    private static void writeChunk(RegionFile region, int x, int z) throws IOException {
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", x);
+        level.setInteger("zPos", z);
+        level.setTag("Sections", new NBTTagList());
+        final NBTTagCompound root = new NBTTagCompound();
+        root.setTag("Level", level);
+        try (DataOutputStream stream = region.getChunkDataOutputStream(x, z)) {
+            CompressedStreamTools.write(root, stream);
+        }
+    }
+
+    // Overwrites the zlib header of the chunk, which makes inflating it throw a ZipException
+    private static void corruptChunk(File regionFile, int x, int z) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(regionFile, "rw")) {
+            file.seek(4 * (x + z * 32));
+            final int sector = file.readInt() >> 8;
+            // Skip the length and the compression type
+            file.seek(sector * 4096L + 5);
+            file.write(new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF});
+        }
+    }
+
+    private static long key(int x, int z) {
+        return (long) x << 32 | (z & 0xFFFFFFFFL);
+    }
+
+}